@@ -0,0 +1,99 @@
+package com.training.callum.whoms.benchmark;
+
+import com.training.callum.whoms.domain.ValidationResult;
+import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.domain.WarehouseDTOPatterns;
+import com.training.callum.whoms.service.ExtDataValidationService;
+import com.training.callum.whoms.tools.SyntheticDataGenerator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of {@link ExtDataValidationService#validate(WarehouseDTO)} per warehouse, for valid warehouses
+ * and for warehouses failing one field each.
+ *
+ * The regex benchmarks validate the same warehouses with {@code getPattern().matcher(value).matches()}
+ * for every string field and the same range checks, as validation did before the character scanners,
+ * so the two can be compared in one run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final ExtDataValidationService validationService = new ExtDataValidationService();
+    private final WarehouseDTO[] valid = new WarehouseDTO[SAMPLES];
+    private final WarehouseDTO[] invalid = new WarehouseDTO[SAMPLES];
+
+    @Setup
+    public void createWarehouses() {
+        final SyntheticDataGenerator.Warehouses validWarehouses = new SyntheticDataGenerator(42, 0.0).warehouses();
+        final SyntheticDataGenerator.Warehouses invalidWarehouses = new SyntheticDataGenerator(42, 1.0).warehouses();
+        for (int i = 0; i < SAMPLES; i++) {
+            valid[i] = validWarehouses.next();
+            invalid[i] = invalidWarehouses.next();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void validateValid(final Blackhole blackhole) {
+        for (final WarehouseDTO warehouse : valid) {
+            blackhole.consume(validationService.validate(warehouse));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void validateInvalid(final Blackhole blackhole) {
+        for (final WarehouseDTO warehouse : invalid) {
+            blackhole.consume(validationService.validate(warehouse));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void validateValidRegex(final Blackhole blackhole) {
+        for (final WarehouseDTO warehouse : valid) {
+            blackhole.consume(validateWithRegex(warehouse));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void validateInvalidRegex(final Blackhole blackhole) {
+        for (final WarehouseDTO warehouse : invalid) {
+            blackhole.consume(validateWithRegex(warehouse));
+        }
+    }
+
+    private static ValidationResult<WarehouseDTOPatterns> validateWithRegex(final WarehouseDTO dto) {
+        final int failedMask = regexField(dto.name(), WarehouseDTOPatterns.NAME)
+                | regexField(dto.address(), WarehouseDTOPatterns.ADDRESS)
+                | regexField(dto.city(), WarehouseDTOPatterns.CITY)
+                | regexField(dto.state(), WarehouseDTOPatterns.STATE)
+                | regexField(dto.postalCode(), WarehouseDTOPatterns.POSTAL_CODE)
+                | regexField(dto.warehousePhone(), WarehouseDTOPatterns.WAREHOUSE_PHONE)
+                | rangeField(dto.squareFootage(), WarehouseDTOPatterns.SQUARE_FOOTAGE, 1000, 3000000)
+                | rangeField(dto.loadingDocks(), WarehouseDTOPatterns.LOADING_DOCKS, 1, 100);
+        return ValidationResult.of(WarehouseDTOPatterns.class, failedMask);
+    }
+
+    private static int regexField(final String value, final WarehouseDTOPatterns pattern) {
+        return value != null && pattern.getPattern().matcher(value).matches() ? 0 : ValidationResult.bit(pattern);
+    }
+
+    private static int rangeField(final int value, final WarehouseDTOPatterns pattern, final int min, final int max) {
+        return value < min || value > max ? ValidationResult.bit(pattern) : 0;
+    }
+}
@@ -0,0 +1,94 @@
+package com.training.callum.whoms.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.training.callum.whoms.config.InputProperties;
+import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.service.ExtDataValidationService;
+import com.training.callum.whoms.service.WarehouseDTOCacheService;
+import com.training.callum.whoms.service.WarehouseMetrics;
+import com.training.callum.whoms.tools.SyntheticDataGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * Loading and reading the warehouse cache at increasing file sizes.
+ *
+ * Each trial writes a synthetic warehouse file of {@code records} warehouses to a temporary directory
+ * and loads it once before measuring. {@code loadWarehouseDtos} measures a full parse, validate and
+ * index of the file on the calling thread; {@code getWarehouses} measures reading the published list
+ * and {@code scanWarehouses} a full pass over it. Every size runs against both storage engines; the
+ * columnar engine trades a smaller heap for decoding each warehouse as it is read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WarehouseCacheBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int records;
+
+    @Param({"HEAP", "COLUMNAR"})
+    public InputProperties.Store store;
+
+    private Path directory;
+    private WarehouseDTOCacheService cacheService;
+
+    @Setup
+    public void writeFileAndLoad() throws IOException {
+        directory = Files.createTempDirectory("warehouse-benchmark");
+        final Path file = directory.resolve("warehouses.json");
+        new SyntheticDataGenerator(42, 0.0).writeWarehouses(file, records);
+        final InputProperties inputProperties = new InputProperties(
+                new InputProperties.File(file.toUri().toString(), null, 20, 1, Duration.ZERO, null, store));
+        // unbounded, so neither the repository nor the lookup caches are used
+        cacheService = new WarehouseDTOCacheService(
+                inputProperties, new DefaultResourceLoader(), new ObjectMapper(), new ExtDataValidationService(),
+                new WarehouseMetrics(new SimpleMeterRegistry()), null, null, event -> { });
+        cacheService.loadWarehouseDtos();
+        if (cacheService.getWarehouses().size() != records) {
+            throw new IllegalStateException("Expected " + records + " warehouses, loaded "
+                    + cacheService.getWarehouses().size());
+        }
+    }
+
+    @TearDown
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(directory.resolve("warehouses.json"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public int loadWarehouseDtos() {
+        cacheService.loadWarehouseDtos();
+        return cacheService.getWarehouses().size();
+    }
+
+    @Benchmark
+    public List<WarehouseDTO> getWarehouses() {
+        return cacheService.getWarehouses();
+    }
+
+    @Benchmark
+    public long scanWarehouses() {
+        long squareFootage = 0;
+        for (final WarehouseDTO warehouse : cacheService.getWarehouses()) {
+            squareFootage += warehouse.squareFootage();
+        }
+        return squareFootage;
+    }
+}
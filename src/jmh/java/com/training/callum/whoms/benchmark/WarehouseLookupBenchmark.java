@@ -0,0 +1,83 @@
+package com.training.callum.whoms.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.training.callum.whoms.config.IngestProperties;
+import com.training.callum.whoms.config.InputProperties;
+import com.training.callum.whoms.domain.Warehouse;
+import com.training.callum.whoms.domain.WarehouseLookupType;
+import com.training.callum.whoms.repository.WarehouseJpaRepository;
+import com.training.callum.whoms.service.ExtDataValidationService;
+import com.training.callum.whoms.service.WarehouseDTOCacheService;
+import com.training.callum.whoms.service.WarehouseLookupCache;
+import com.training.callum.whoms.service.WarehouseManagerServiceImpl;
+import com.training.callum.whoms.service.WarehouseMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * Dispatch cost of {@link WarehouseManagerServiceImpl#warehouseLookUp(Object)}, which infers the kind
+ * of key, and of the typed {@link WarehouseManagerServiceImpl#warehouseLookUp(WarehouseLookupType, String)},
+ * for each kind of key.
+ *
+ * The repository is a stub answering every query with an empty list, so the score is the work of
+ * deciding which query to run rather than the query itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WarehouseLookupBenchmark {
+
+    @Param({"Providence Distribution Center", "02903-1234", "(401) 555-0101"})
+    public String key;
+
+    private WarehouseManagerServiceImpl managerService;
+    private WarehouseLookupType type;
+
+    @Setup
+    public void createService() {
+        final WarehouseJpaRepository repository = (WarehouseJpaRepository) Proxy.newProxyInstance(
+                WarehouseJpaRepository.class.getClassLoader(),
+                new Class<?>[] {WarehouseJpaRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "WarehouseJpaRepository stub";
+                    default -> List.of();
+                });
+        // lookups never open a transaction, so no transaction manager is needed
+        final WarehouseMetrics metrics = new WarehouseMetrics(new SimpleMeterRegistry());
+        // entity lookups never reach the DTO cache, so it is left unloaded
+        final WarehouseDTOCacheService cacheService = new WarehouseDTOCacheService(
+                new InputProperties(new InputProperties.File(null, null, 20, 1, Duration.ZERO, null,
+                        InputProperties.Store.HEAP)),
+                new DefaultResourceLoader(), new ObjectMapper(), new ExtDataValidationService(), metrics, null, null,
+                event -> { });
+        managerService = new WarehouseManagerServiceImpl(new ExtDataValidationService(), repository, null,
+                new IngestProperties(1000, false, false, false), new WarehouseLookupCache(new ConcurrentMapCacheManager(), metrics),
+                metrics, cacheService);
+        type = WarehouseLookupType.classify(key);
+    }
+
+    @Benchmark
+    public List<Warehouse> warehouseLookUp() {
+        return managerService.warehouseLookUp(key);
+    }
+
+    @Benchmark
+    public List<Warehouse> warehouseLookUpByType() {
+        return managerService.warehouseLookUp(type, key);
+    }
+}
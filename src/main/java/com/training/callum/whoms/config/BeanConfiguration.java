@@ -11,7 +11,7 @@ import org.springframework.context.annotation.Configuration;
  * Configuration class for creating shared beans.
  */
 @Configuration
-@EnableConfigurationProperties(InputProperties.class)
+@EnableConfigurationProperties({InputProperties.class, IngestProperties.class, StartupProperties.class})
 public class BeanConfiguration {
 
     private static final Logger log = LoggerFactory.getLogger(BeanConfiguration.class);
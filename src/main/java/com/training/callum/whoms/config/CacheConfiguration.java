@@ -0,0 +1,59 @@
+package com.training.callum.whoms.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Collection;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Enables Spring's cache abstraction for the warehouse repository lookups.
+ *
+ * Only the DTO projection lookups are cached. Their values are immutable lists of immutable records, so
+ * a cached value can be shared by every caller; managed entities are never put in these caches.
+ *
+ * The caches are Caffeine caches declared through spring.cache.* properties, which lets Spring Boot
+ * register their hit, miss and eviction statistics with the actuator metrics. Each cache holds at most
+ * {@code input.file.max-count} warehouses; Caffeine admits and evicts with W-TinyLFU, so keys that are
+ * looked up often stay resident while one-off lookups are turned away, and a lookup that is not
+ * resident reads through to the repository.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    /** Warehouse DTO projections by case-insensitive name. */
+    public static final String WAREHOUSE_DTOS_BY_NAME = "warehouseDtosByName";
+
+    /** Warehouse DTO projections by postal code. */
+    public static final String WAREHOUSE_DTOS_BY_POSTAL_CODE = "warehouseDtosByPostalCode";
+
+    /** Warehouse DTO projections by phone number, ignoring formatting. */
+    public static final String WAREHOUSE_DTOS_BY_PHONE = "warehouseDtosByPhone";
+
+    /**
+     * Caps every lookup cache at {@code input.file.max-count} warehouses on top of the configured Caffeine
+     * spec, which must therefore not set a maximum size of its own. A lookup weighs as many warehouses as it
+     * found, and at least one, so that cached misses count too.
+     *
+     * @param cacheProperties spring.cache.* properties
+     * @param inputProperties input properties carrying the capacity
+     * @return customizer applied when Spring Boot creates the cache manager
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> lookupCacheCapacity(
+            final CacheProperties cacheProperties, final InputProperties inputProperties) {
+        return cacheManager -> {
+            final String spec = cacheProperties.getCaffeine().getSpec();
+            final Caffeine<Object, Object> builder = StringUtils.hasText(spec) ? Caffeine.from(spec) : Caffeine.newBuilder();
+            cacheManager.setCaffeine(builder
+                    .maximumWeight(inputProperties.file().maxCount())
+                    .weigher((Object key, Object value) ->
+                            value instanceof Collection<?> warehouses ? Math.max(1, warehouses.size()) : 1));
+        };
+    }
+}
@@ -1,14 +1,19 @@
 package com.training.callum.whoms.config;
 
 import com.training.callum.whoms.domain.ErrorResponseDTO;
+import com.training.callum.whoms.service.InvalidRequestException;
+import com.training.callum.whoms.service.WarehouseCacheUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
 import java.util.UUID;
@@ -26,6 +31,9 @@ public class GlobalExceptionHandler {
 
     private static final String GENERIC_MESSAGE = "Our apologies for fumbling your request";
 
+    // seconds a client should wait before retrying while the warehouse cache warms up
+    private static final String CACHE_RETRY_AFTER_SECONDS = "5";
+
     /**
      * Handle bad request exceptions (e.g., malformed JSON).
      *
@@ -41,6 +49,23 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    /**
+     * Handle invalid request parameters (e.g., out-of-range page size, malformed or stale cursor, unknown lookup type or
+     * non-numeric filter). These are client mistakes, so they are logged at WARN without a stack trace; any
+     * other IllegalArgumentException is a fault of the service and handled as such.
+     *
+     * @param ex the exception thrown
+     * @return ResponseEntity with ErrorResponseDTO and HTTP 400
+     */
+    @ExceptionHandler({InvalidRequestException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<ErrorResponseDTO> handleInvalidArgument(final Exception ex) {
+        final UUID messageId = UUID.randomUUID();
+        LOGGER.warn("Invalid request parameter, messageId={}. Returning error to client: {}", messageId, ex.getMessage());
+
+        final ErrorResponseDTO body = new ErrorResponseDTO(GENERIC_MESSAGE, HttpStatus.BAD_REQUEST.value(), messageId);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
     /**
      * Handle unsupported media type exceptions (e.g., wrong Content-Type).
      *
@@ -71,6 +96,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
+    /**
+     * Handle requests that need the warehouse cache before it has been loaded.
+     *
+     * @param ex the exception thrown
+     * @return ResponseEntity with ErrorResponseDTO, a Retry-After header and HTTP 503
+     */
+    @ExceptionHandler(WarehouseCacheUnavailableException.class)
+    public ResponseEntity<ErrorResponseDTO> handleCacheUnavailable(final WarehouseCacheUnavailableException ex) {
+        final UUID messageId = UUID.randomUUID();
+        LOGGER.warn("Warehouse cache unavailable, messageId={}. Asking client to retry: {}", messageId, ex.getMessage());
+
+        final ErrorResponseDTO body = new ErrorResponseDTO(GENERIC_MESSAGE, HttpStatus.SERVICE_UNAVAILABLE.value(), messageId);
+        // the export endpoints are also asked for NDJSON; the error body is always plain JSON
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, CACHE_RETRY_AFTER_SECONDS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     /**
      * Handle any uncaught exception from controllers.
      *
@@ -0,0 +1,27 @@
+package com.training.callum.whoms.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for bulk ingestion into the warehouse store.
+ * Mapped to properties with prefix "ingest".
+ *
+ * chunkSize is the number of warehouses saved and committed per transaction; keep it a multiple of
+ * spring.jpa.properties.hibernate.jdbc.batch_size so every JDBC batch is full.
+ * syncOnStartup synchronizes the first load of the warehouse file into the database before the cache
+ * reports ready.
+ * syncOnLoad synchronizes every load and reload of the warehouse file into the database the same way. The
+ * bounded store keeps no list to synchronize later and relies on it to get file changes into the database.
+ * backfillLookupKeys derives the lookup keys of rows written before the key columns existed once the
+ * application has started. It scans for rows without keys, so enable it only for the first start against
+ * such a database.
+ */
+@ConfigurationProperties(prefix = "ingest")
+public record IngestProperties(
+    @DefaultValue("1000") int chunkSize,
+    @DefaultValue("false") boolean syncOnStartup,
+    @DefaultValue("false") boolean syncOnLoad,
+    @DefaultValue("false") boolean backfillLookupKeys
+) {
+}
@@ -1,5 +1,6 @@
 package com.training.callum.whoms.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 
@@ -11,11 +12,40 @@ import org.springframework.boot.context.properties.bind.DefaultValue;
 public record InputProperties(File file) {
     /**
      * Nested record for file-related input properties.
+     *
+     * maxCount: warehouses each repository lookup cache holds, see {@link CacheConfiguration}; in the bounded
+     * store these caches are all the warehouse cache keeps in memory.
+     * parallelism: worker threads used to validate and index the warehouse file while it loads;
+     * 1 or less loads on the calling thread only.
+     * reloadInterval: how often the warehouse file is checked for changes and reloaded; zero disables reloading.
+     * snapshot: file the validated warehouse cache is saved to and restored from on the next start while the
+     * warehouse file is unchanged; unset or blank disables snapshots.
+     * store: how the warehouse cache is held in memory, see {@link Store}.
      */
     public record File(
         String warehouses,
         String employees,
-        @DefaultValue("20") int maxCount
+        @DefaultValue("20") int maxCount,
+        @DefaultValue("1") int parallelism,
+        @DefaultValue("0s") Duration reloadInterval,
+        String snapshot,
+        @DefaultValue("heap") Store store
     ) {
     }
+
+    /**
+     * Storage engines for the warehouse cache.
+     *
+     * HEAP: one {@code WarehouseDTO} object graph per warehouse; lookups return the cached instances.
+     * COLUMNAR: primitive and dictionary-encoded columns with the remaining strings packed off-heap;
+     * lookups return views decoded on demand. Several times smaller on the heap, at the cost of decoding
+     * every warehouse that is read.
+     * BOUNDED: no complete list; the database holds the warehouses and key lookups are served by the
+     * repository lookup caches of at most {@code maxCount} warehouses each, reading through on a miss.
+     */
+    public enum Store {
+        HEAP,
+        COLUMNAR,
+        BOUNDED
+    }
 }
\ No newline at end of file
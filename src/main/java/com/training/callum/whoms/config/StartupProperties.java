@@ -0,0 +1,18 @@
+package com.training.callum.whoms.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for startup runs.
+ * Mapped to properties with prefix "startup".
+ *
+ * exitWhenReady shuts the application down as soon as it is ready and the warehouse cache warm-up has
+ * finished, exiting with 0 when the cache loaded and 1 when it did not. Training runs that record the
+ * class-data-sharing archive and startup-time measurements use it; services leave it off.
+ */
+@ConfigurationProperties(prefix = "startup")
+public record StartupProperties(
+    @DefaultValue("false") boolean exitWhenReady
+) {
+}
@@ -1,25 +1,42 @@
 package com.training.callum.whoms.controller;
 
+import com.training.callum.whoms.domain.ValidationResult;
+import com.training.callum.whoms.domain.WarehouseCursor;
 import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.domain.WarehouseDTOPatterns;
+import com.training.callum.whoms.domain.WarehouseLookupType;
+import com.training.callum.whoms.domain.WarehousePage;
+import com.training.callum.whoms.domain.WarehouseQuery;
+import com.training.callum.whoms.domain.WarehouseSyncResult;
 import com.training.callum.whoms.service.ExtDataValidationService;
+import com.training.callum.whoms.service.InvalidRequestException;
+import com.training.callum.whoms.service.WarehouseCacheSyncService;
 import com.training.callum.whoms.service.WarehouseDTOCacheService;
+import com.training.callum.whoms.service.WarehouseExportService;
+import com.training.callum.whoms.service.WarehouseManagerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * REST controller for warehouse management APIs.
  *
- * All endpoints live under "/whoms/v2/" and accept/produce JSON only.
+ * All endpoints live under "/whoms/v2/" and accept/produce JSON only; the export endpoint can also stream NDJSON.
  */
 @Validated
 @RestController
@@ -31,43 +48,153 @@ public class WarehouseManagementController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WarehouseManagementController.class);
 
+    /** Response header carrying the opaque cursor of the next page. */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final WarehouseDTOCacheService cacheService;
     private final ExtDataValidationService validationService;
+    private final WarehouseExportService exportService;
+    private final WarehouseCacheSyncService syncService;
+    private final WarehouseManagerService managerService;
 
     public WarehouseManagementController(final WarehouseDTOCacheService cacheService,
-                                         final ExtDataValidationService validationService) {
+                                         final ExtDataValidationService validationService,
+                                         final WarehouseExportService exportService,
+                                         final WarehouseCacheSyncService syncService,
+                                         final WarehouseManagerService managerService) {
         this.cacheService = cacheService;
         this.validationService = validationService;
+        this.exportService = exportService;
+        this.syncService = syncService;
+        this.managerService = managerService;
     }
 
     /**
-     * Return cached warehouses. Responds 200 with an empty list when nothing is cached.
+     * Return one page of cached warehouses, optionally filtered. Responds 204 when the page is empty.
+     *
+     * Pages hold at most {@code limit} warehouses (default 100, maximum 1000). When more matches remain,
+     * the opaque cursor of the next page is returned in the {@value #NEXT_CURSOR_HEADER} header and as a
+     * {@code Link rel="next"} URL; pass it back as {@code cursor} with the same filters to continue.
+     * A cursor only holds for the load of the warehouse cache that issued it. After a reload it is answered
+     * with 400, and paging has to start again without a cursor.
      *
      * GET request may be sent without a body; class-level consumes requires JSON but GET without body is allowed.
      */
     @GetMapping("/warehouses")
-    public ResponseEntity<List<WarehouseDTO>> getWarehouses() {
-        List<WarehouseDTO> list = cacheService.getWarehouses();
-        if (list == null || list.isEmpty()) {
-            LOGGER.debug("No warehouses cached - returning empty list");
+    public ResponseEntity<List<WarehouseDTO>> getWarehouses(
+            @RequestParam(required = false) final String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) final int limit,
+            @RequestParam(required = false) final String state,
+            @RequestParam(required = false) final String city,
+            @RequestParam(required = false) final Integer minSquareFootage,
+            @RequestParam(required = false) final Integer maxSquareFootage,
+            @RequestParam(required = false) final Integer minLoadingDocks,
+            @RequestParam(required = false) final Integer maxLoadingDocks) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_PAGE_SIZE + ": " + limit);
+        }
+        final WarehouseQuery query = new WarehouseQuery(
+                state, city, minSquareFootage, maxSquareFootage, minLoadingDocks, maxLoadingDocks);
+        final WarehousePage page = cacheService.findPage(query, decodeCursor(cursor), limit);
+        if (page.items().isEmpty()) {
+            LOGGER.debug("No warehouses cached for query {} - returning empty response", query);
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.ok(list);
+
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        page.next().ifPresent(next -> {
+            final String nextCursor = encodeCursor(next);
+            final String nextLink = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", nextCursor)
+                    .build()
+                    .toUriString();
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+            response.header(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"");
+        });
+        return response.body(page.items());
+    }
+
+    /**
+     * Search persisted warehouses by name, postal code or phone number. The kind of key is given as
+     * {@code type} (name, postalCode or phone) or, when omitted, inferred from the key's format.
+     *
+     * Answered from the in-memory indexes of the warehouse cache, without a database round trip. Responds 204 when
+     * nothing matches, 400 when the type is unknown or an untyped key is not a valid name, postal code or phone
+     * number, and 503 while the cache is loading.
+     */
+    @GetMapping("/warehouses/search")
+    public ResponseEntity<List<WarehouseDTO>> searchWarehouses(
+            @RequestParam final String key,
+            @RequestParam(required = false) final String type) {
+        final List<WarehouseDTO> found = type == null
+                ? managerService.findWarehouseDTOs(key)
+                : managerService.findWarehouseDTOs(lookupType(type), key);
+        if (found.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(found);
+    }
+
+    /**
+     * Export every cached warehouse as newline-delimited JSON.
+     *
+     * The body is streamed while it is serialized, so memory use stays flat regardless of cache size.
+     * Selected when the client sends {@code Accept: application/x-ndjson}.
+     */
+    @GetMapping(value = "/warehouses/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportWarehousesNdjson() {
+        // checked before streaming starts, once the status can no longer change
+        cacheService.requireLoaded();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportService::writeNdjson);
+    }
+
+    /**
+     * Export every cached warehouse as a single JSON array, streamed while it is serialized.
+     */
+    @GetMapping(value = "/warehouses/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportWarehousesJson() {
+        cacheService.requireLoaded();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(exportService::writeJsonArray);
+    }
+
+    /**
+     * Synchronize the cached warehouses into the database, writing only rows that are missing or changed.
+     *
+     * Returns 200 with the counts of inserted, updated, unchanged, skipped and failed warehouses.
+     */
+    @PostMapping("/warehouses/sync")
+    public ResponseEntity<WarehouseSyncResult> syncWarehouses() {
+        cacheService.requireLoaded();
+        return ResponseEntity.ok(syncService.synchronize());
     }
 
     /**
      * Validate a single WarehouseDTO payload using external validation service.
      *
      * Returns 200 and a JSON object { "valid": true } when validation passes,
-     * or 400 with { "valid": false, "error": "<message>" } when validation fails.
+     * or 400 with { "valid": false, "error": "<message>", "errors": ["<field>: <message>", ...] }
+     * when one or more fields fail; "error" carries the first failure.
      */
     @PostMapping("/warehouses/validate")
     public ResponseEntity<Map<String, Object>> validateWarehouse(@RequestBody final WarehouseDTO warehouse) {
         Map<String, Object> resp = new HashMap<>();
         try {
-            validationService.validate(warehouse);
-            resp.put("valid", true);
-            return ResponseEntity.ok(resp);
+            final ValidationResult<WarehouseDTOPatterns> result = validationService.validate(warehouse);
+            resp.put("valid", result.isValid());
+            if (result.isValid()) {
+                return ResponseEntity.ok(resp);
+            }
+            LOGGER.debug("Validation failed for warehouse: {} - {}", warehouse, result);
+            resp.put("error", result.messages().get(0));
+            resp.put("errors", result.messages());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(resp);
         } catch (Exception ex) {
             LOGGER.error("Validation failed for warehouse: {}", warehouse, ex);
             resp.put("valid", false);
@@ -75,4 +202,40 @@ public class WarehouseManagementController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(resp);
         }
     }
-}
\ No newline at end of file
+
+    // "<load>:<position>" or "<load>:<last id>", Base64 encoded so clients treat it as opaque
+    private static String encodeCursor(final WarehouseCursor cursor) {
+        final String key = cursor.lastId() == null ? Integer.toString(cursor.position()) : cursor.lastId().toString();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((cursor.load() + ":" + key).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static WarehouseCursor decodeCursor(final String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        // Base64, number and UUID format errors and a negative position all surface as IllegalArgumentExceptions
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            final int separator = decoded.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Cursor has no key");
+            }
+            final long load = Long.parseLong(decoded, 0, separator, 10);
+            final String key = decoded.substring(separator + 1);
+            return key.indexOf('-') < 0
+                    ? WarehouseCursor.atPosition(load, Integer.parseInt(key))
+                    : WarehouseCursor.afterId(load, UUID.fromString(key));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor, ex);
+        }
+    }
+
+    private static WarehouseLookupType lookupType(final String tag) {
+        try {
+            return WarehouseLookupType.fromTag(tag);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Unknown lookup type: " + tag, ex);
+        }
+    }
+}
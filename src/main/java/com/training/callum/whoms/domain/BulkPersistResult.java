@@ -0,0 +1,33 @@
+package com.training.callum.whoms.domain;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk warehouse ingestion.
+ *
+ * Fields:
+ * - persisted: number of warehouses committed
+ * - skipped: number of warehouses dropped before chunking because they failed validation
+ * - failedChunks: chunks that were rolled back, in ingestion order
+ */
+public record BulkPersistResult(int persisted, int skipped, List<ChunkFailure> failedChunks) {
+
+    /**
+     * A chunk that could not be committed.
+     *
+     * Fields:
+     * - chunkIndex: zero-based position of the chunk in the ingestion
+     * - firstRecord: zero-based position of the chunk's first warehouse in the input, counting skipped ones
+     * - size: number of warehouses in the chunk
+     * - reason: message of the failure that rolled the chunk back
+     */
+    public record ChunkFailure(int chunkIndex, long firstRecord, int size, String reason) {
+    }
+
+    /**
+     * @return number of warehouses that were not committed
+     */
+    public long failedRecords() {
+        return failedChunks.stream().mapToLong(ChunkFailure::size).sum();
+    }
+}
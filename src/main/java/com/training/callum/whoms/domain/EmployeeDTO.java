@@ -0,0 +1,16 @@
+package com.training.callum.whoms.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Data transfer object for employee information loaded from external CSV files.
+ * Used for reading employee data from input/employees.csv.
+ */
+public record EmployeeDTO(
+    String firstName,
+    String lastName,
+    String itin,
+    String mobileNumber,
+    String personalEmail,
+    LocalDate dateOfBirth
+) {}
@@ -0,0 +1,167 @@
+package com.training.callum.whoms.domain;
+
+import java.util.regex.Pattern;
+
+/**
+ * Enum defining regex patterns and error messages for validating EmployeeDTO fields.
+ *
+ * As for {@link WarehouseDTOPatterns}, the regex of each field is the specification and
+ * {@link #matches(CharSequence)} implements the same rule as a character scan without a {@code Matcher}.
+ */
+public enum EmployeeDTOPatterns implements ValidatedField {
+    FIRST_NAME(Pattern.compile("^[a-zA-Z]+(?:['\\- ][a-zA-Z]+)*$"), "First name must consist of alphabetic characters, optionally joined by apostrophes, hyphens or spaces.") {
+        @Override
+        public boolean matches(final CharSequence value) {
+            return isJoinedWords(value);
+        }
+    },
+    LAST_NAME(Pattern.compile("^[a-zA-Z]+(?:['\\- ][a-zA-Z]+)*$"), "Last name must consist of alphabetic characters, optionally joined by apostrophes, hyphens or spaces.") {
+        @Override
+        public boolean matches(final CharSequence value) {
+            return isJoinedWords(value);
+        }
+    },
+    ITIN(Pattern.compile("^\\d{3}-\\d{2}-\\d{4}$"), "ITIN must be in the format 999-99-9999.") {
+        @Override
+        public boolean matches(final CharSequence value) {
+            return value != null
+                    && value.length() == 11
+                    && isDigits(value, 0, 3) && value.charAt(3) == '-'
+                    && isDigits(value, 4, 6) && value.charAt(6) == '-'
+                    && isDigits(value, 7, 11);
+        }
+    },
+    MOBILE_NUMBER(Pattern.compile("^\\(?\\d{3}\\)?[-.\\s]?\\d{3}[-.\\s]?\\d{4}$"), "Mobile number must be a valid US phone number format (with or without parentheses and dashes).") {
+        @Override
+        public boolean matches(final CharSequence value) {
+            // same rule as the warehouse phone
+            return WarehouseDTOPatterns.WAREHOUSE_PHONE.matches(value);
+        }
+    },
+    PERSONAL_EMAIL(Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$"), "Personal email must be a valid email address.") {
+        @Override
+        public boolean matches(final CharSequence value) {
+            if (value == null) {
+                return false;
+            }
+            final int length = value.length();
+            int i = 0;
+            while (i < length && isLocalPartChar(value.charAt(i))) {
+                i++;
+            }
+            if (i == 0 || i == length || value.charAt(i) != '@') {
+                return false;
+            }
+            final int domainStart = ++i;
+            int lastDot = -1;
+            for (; i < length; i++) {
+                final char c = value.charAt(i);
+                if (c == '.') {
+                    lastDot = i;
+                } else if (!isLetter(c) && !isDigit(c) && c != '-') {
+                    return false;
+                }
+            }
+            // letters hold no dot, so the top-level domain can only follow the last one
+            if (lastDot <= domainStart || length - lastDot - 1 < 2) {
+                return false;
+            }
+            for (i = lastDot + 1; i < length; i++) {
+                if (!isLetter(value.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    },
+    DATE_OF_BIRTH(Pattern.compile("^\\d{2}/\\d{2}/\\d{4}$"), "Date of birth must be a past date in the format MM/dd/yyyy.") {
+        @Override
+        public boolean matches(final CharSequence value) {
+            return value != null
+                    && value.length() == 10
+                    && isDigits(value, 0, 2) && value.charAt(2) == '/'
+                    && isDigits(value, 3, 5) && value.charAt(5) == '/'
+                    && isDigits(value, 6, 10);
+        }
+    };
+
+    private final Pattern pattern;
+    private final String errorMessage;
+
+    EmployeeDTOPatterns(final Pattern pattern, final String errorMessage) {
+        this.pattern = pattern;
+        this.errorMessage = errorMessage;
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    @Override
+    public String fieldName() {
+        return switch (this) {
+            case FIRST_NAME -> "firstName";
+            case LAST_NAME -> "lastName";
+            case ITIN -> "itin";
+            case MOBILE_NUMBER -> "mobileNumber";
+            case PERSONAL_EMAIL -> "personalEmail";
+            case DATE_OF_BIRTH -> "dateOfBirth";
+        };
+    }
+
+    /**
+     * Checks a value against this field's rule without allocating.
+     * Accepts exactly the inputs for which {@code getPattern().matcher(value).matches()} is true.
+     *
+     * @param value the value to check, may be null
+     * @return true when the value is non-null and satisfies the rule
+     */
+    public abstract boolean matches(CharSequence value);
+
+    /**
+     * Words of ASCII letters joined by single apostrophes, hyphens or spaces.
+     */
+    private static boolean isJoinedWords(final CharSequence value) {
+        if (value == null) {
+            return false;
+        }
+        boolean inWord = false;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (isLetter(c)) {
+                inWord = true;
+            } else if ((c == '\'' || c == '-' || c == ' ') && inWord) {
+                inWord = false;
+            } else {
+                return false;
+            }
+        }
+        return inWord;
+    }
+
+    private static boolean isLocalPartChar(final char c) {
+        return isLetter(c) || isDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isDigits(final CharSequence value, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLetter(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,18 @@
+package com.training.callum.whoms.domain;
+
+/**
+ * A field checked when validating a DTO. Implemented by the pattern enums, one constant per field, whose
+ * ordinals are the bits of a {@link ValidationResult}.
+ */
+public interface ValidatedField {
+
+    /**
+     * @return the DTO component name the field validates
+     */
+    String fieldName();
+
+    /**
+     * @return the message reported when the field fails
+     */
+    String getErrorMessage();
+}
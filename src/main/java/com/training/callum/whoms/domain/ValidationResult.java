@@ -0,0 +1,138 @@
+package com.training.callum.whoms.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Outcome of validating one DTO against the fields of a pattern enum such as {@link WarehouseDTOPatterns}
+ * or {@link EmployeeDTOPatterns}.
+ *
+ * Failures are held as a bitset over the enum, bit {@code ordinal()} set for each field that failed; for
+ * range-checked fields such as square footage the bit marks a value outside the allowed range. There is
+ * one shared instance per enum and possible bitset, so validating allocates nothing, and the
+ * human-readable messages are only built when {@link #messages()} is first called.
+ *
+ * @param <P> the enum of validated fields
+ */
+public final class ValidationResult<P extends Enum<P> & ValidatedField> {
+
+    // one table of shared results per field enum, indexed by bitset
+    private static final ClassValue<ValidationResult<?>[]> BY_MASK = new ClassValue<>() {
+        @Override
+        protected ValidationResult<?>[] computeValue(final Class<?> type) {
+            return table(type.asSubclass(Enum.class));
+        }
+    };
+
+    private final Class<P> type;
+    private final P[] fields;
+    private final int failedMask;
+    private volatile List<String> messages;
+
+    private ValidationResult(final Class<P> type, final P[] fields, final int failedMask) {
+        this.type = type;
+        this.fields = fields;
+        this.failedMask = failedMask;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static ValidationResult<?>[] table(final Class<? extends Enum> type) {
+        if (!ValidatedField.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException("Not an enum of validated fields: " + type.getName());
+        }
+        final Enum[] fields = type.getEnumConstants();
+        if (fields.length >= Integer.SIZE - 1) {
+            throw new IllegalArgumentException("Too many fields to validate as a bitset: " + type.getName());
+        }
+        final ValidationResult<?>[] results = new ValidationResult<?>[1 << fields.length];
+        for (int mask = 0; mask < results.length; mask++) {
+            results[mask] = new ValidationResult(type, fields, mask);
+        }
+        return results;
+    }
+
+    /**
+     * @param type the enum of validated fields
+     * @param failedMask bitset of failed fields, see {@link #bit(Enum)}
+     * @return the shared result for that bitset
+     */
+    @SuppressWarnings("unchecked")
+    public static <P extends Enum<P> & ValidatedField> ValidationResult<P> of(final Class<P> type, final int failedMask) {
+        final ValidationResult<?>[] results = BY_MASK.get(type);
+        if (failedMask < 0 || failedMask >= results.length) {
+            throw new IllegalArgumentException("Invalid validation mask: " + failedMask);
+        }
+        // the table was built for this enum
+        return (ValidationResult<P>) results[failedMask];
+    }
+
+    /**
+     * @param type the enum of validated fields
+     * @return the shared result without failures
+     */
+    public static <P extends Enum<P> & ValidatedField> ValidationResult<P> valid(final Class<P> type) {
+        return of(type, 0);
+    }
+
+    /**
+     * @param field a validated field
+     * @return the bit marking that field as failed
+     */
+    public static int bit(final Enum<?> field) {
+        return 1 << field.ordinal();
+    }
+
+    public boolean isValid() {
+        return failedMask == 0;
+    }
+
+    public int failedMask() {
+        return failedMask;
+    }
+
+    public boolean hasFailed(final P field) {
+        return (failedMask & bit(field)) != 0;
+    }
+
+    /**
+     * @return the failed fields in declaration order
+     */
+    public Set<P> failedFields() {
+        final Set<P> failed = EnumSet.noneOf(type);
+        for (final P field : fields) {
+            if (hasFailed(field)) {
+                failed.add(field);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Builds one message per failed field on first use, e.g. {@code "state: State must be a two-letter
+     * uppercase abbreviation."}. Later calls return the same list.
+     *
+     * @return unmodifiable messages in field declaration order, empty when valid
+     */
+    public List<String> messages() {
+        List<String> built = messages;
+        if (built == null) {
+            final List<String> list = new ArrayList<>(Integer.bitCount(failedMask));
+            for (final P field : fields) {
+                if (hasFailed(field)) {
+                    list.add(field.fieldName() + ": " + field.getErrorMessage());
+                }
+            }
+            built = Collections.unmodifiableList(list);
+            messages = built;
+        }
+        return built;
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "ValidationResult[valid]" : "ValidationResult" + failedFields();
+    }
+}
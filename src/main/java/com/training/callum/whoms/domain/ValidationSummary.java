@@ -0,0 +1,85 @@
+package com.training.callum.whoms.domain;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Aggregated outcome of validating a batch of DTOs against the fields of a pattern enum.
+ *
+ * Fields:
+ * - validated: number of DTOs validated
+ * - invalid: number of DTOs with at least one failed field
+ * - failuresByField: number of DTOs failing each field, only fields with failures are present
+ *
+ * @param <P> the enum of validated fields
+ */
+public record ValidationSummary<P extends Enum<P> & ValidatedField>(
+        long validated, long invalid, Map<P, Long> failuresByField) {
+
+    public boolean isValid() {
+        return invalid == 0L;
+    }
+
+    /**
+     * @return per-field failure counts as {@code "name=3, warehousePhone=12"}, empty when nothing failed
+     */
+    public String describeFailures() {
+        final StringJoiner joiner = new StringJoiner(", ");
+        failuresByField.forEach((field, count) -> joiner.add(field.fieldName() + "=" + count));
+        return joiner.toString();
+    }
+
+    /**
+     * Mutable counter that folds single results into a summary without keeping them.
+     * Not thread-safe; concurrent producers should use one accumulator each and {@link #merge(Accumulator)}.
+     *
+     * @param <P> the enum of validated fields
+     */
+    public static final class Accumulator<P extends Enum<P> & ValidatedField> {
+
+        private final Class<P> type;
+        private final long[] failures;
+        private long validated;
+        private long invalid;
+
+        public Accumulator(final Class<P> type) {
+            this.type = type;
+            this.failures = new long[type.getEnumConstants().length];
+        }
+
+        public Accumulator<P> add(final ValidationResult<P> result) {
+            validated++;
+            final int mask = result.failedMask();
+            if (mask != 0) {
+                invalid++;
+                for (int i = 0; i < failures.length; i++) {
+                    if ((mask & (1 << i)) != 0) {
+                        failures[i]++;
+                    }
+                }
+            }
+            return this;
+        }
+
+        public Accumulator<P> merge(final Accumulator<P> other) {
+            validated += other.validated;
+            invalid += other.invalid;
+            for (int i = 0; i < failures.length; i++) {
+                failures[i] += other.failures[i];
+            }
+            return this;
+        }
+
+        public ValidationSummary<P> toSummary() {
+            final Map<P, Long> byField = new EnumMap<>(type);
+            for (final P field : type.getEnumConstants()) {
+                if (failures[field.ordinal()] > 0) {
+                    byField.put(field, failures[field.ordinal()]);
+                }
+            }
+            return new ValidationSummary<>(validated, invalid, Collections.unmodifiableMap(byField));
+        }
+    }
+}
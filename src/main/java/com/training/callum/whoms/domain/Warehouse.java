@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 import java.util.Objects;
@@ -14,9 +15,19 @@ import java.util.UUID;
  * JPA entity representing a warehouse for persistence.
  *
  * Mirrors WarehouseDTO fields plus a UUID primary key.
+ *
+ * Name and phone are also stored in normalized form ({@link WarehouseLookupKeys}) in indexed key columns
+ * that are kept in step by the setters, so lookups are plain equality matches on an index instead of
+ * applying a function to every row. The key columns are not part of equals/hashCode since they are derived.
+ * They are declared nullable so that a schema update can add them to a table that already holds rows;
+ * {@code WarehouseLookupKeyBackfill} derives the keys of such rows at startup when asked to.
  */
 @Entity
-@Table(name = "warehouses")
+@Table(name = "warehouses", indexes = {
+    @Index(name = "idx_warehouses_name_key", columnList = "name_key"),
+    @Index(name = "idx_warehouses_postal_code", columnList = "postal_code"),
+    @Index(name = "idx_warehouses_phone_key", columnList = "phone_key")
+})
 public class Warehouse {
 
     @Id
@@ -27,6 +38,9 @@ public class Warehouse {
     @Column(nullable = false)
     private String name;
 
+    @Column(name = "name_key")
+    private String nameKey;
+
     @Column(nullable = false)
     private String address;
 
@@ -42,6 +56,9 @@ public class Warehouse {
     @Column(nullable = false, name = "warehouse_phone")
     private String warehousePhone;
 
+    @Column(name = "phone_key", length = 32)
+    private String phoneKey;
+
     @Column(nullable = false, name = "square_footage")
     private int squareFootage;
 
@@ -55,12 +72,15 @@ public class Warehouse {
     public Warehouse(final String name, final String address, final String city, final String state,
                      final String postalCode, final String warehousePhone, final int squareFootage,
                      final int loadingDocks) {
+        // fields and keys are assigned directly, as the setters may be overridden by a persistence proxy
         this.name = name;
+        this.nameKey = WarehouseLookupKeys.name(name);
         this.address = address;
         this.city = city;
         this.state = state;
         this.postalCode = postalCode;
         this.warehousePhone = warehousePhone;
+        this.phoneKey = WarehouseLookupKeys.phone(warehousePhone);
         this.squareFootage = squareFootage;
         this.loadingDocks = loadingDocks;
     }
@@ -80,6 +100,11 @@ public class Warehouse {
 
     public void setName(final String name) {
         this.name = name;
+        this.nameKey = WarehouseLookupKeys.name(name);
+    }
+
+    public String getNameKey() {
+        return nameKey;
     }
 
     public String getAddress() {
@@ -120,6 +145,11 @@ public class Warehouse {
 
     public void setWarehousePhone(final String warehousePhone) {
         this.warehousePhone = warehousePhone;
+        this.phoneKey = WarehouseLookupKeys.phone(warehousePhone);
+    }
+
+    public String getPhoneKey() {
+        return phoneKey;
     }
 
     public int getSquareFootage() {
@@ -0,0 +1,17 @@
+package com.training.callum.whoms.domain;
+
+/**
+ * Difference between a reloaded warehouse file and the cache it replaces, matched by warehouse name.
+ *
+ * Fields:
+ * - added: loaded warehouses whose name was not cached
+ * - changed: loaded warehouses whose name was cached with different field values
+ * - removed: cached warehouses whose name no longer appears in the file
+ * - unchanged: loaded warehouses equal to a cached one
+ */
+public record WarehouseCacheDelta(int added, int changed, int removed, int unchanged) {
+
+    public boolean hasChanges() {
+        return added > 0 || changed > 0 || removed > 0;
+    }
+}
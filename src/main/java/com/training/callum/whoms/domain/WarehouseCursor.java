@@ -0,0 +1,41 @@
+package com.training.callum.whoms.domain;
+
+import java.util.UUID;
+
+/**
+ * Where a paged warehouse query resumes, handed out with every page that has a successor.
+ *
+ * A cursor is only valid for the cache load that cut the page; after a reload it is stale and must be
+ * rejected rather than resumed, since the key it carries may then point anywhere.
+ *
+ * Fields:
+ * - load: identity of the cache load the page was cut from
+ * - position: cache position of the next match, when paging the cached snapshot
+ * - lastId: id of the last warehouse of the page, when paging the database; null otherwise
+ */
+public record WarehouseCursor(long load, int position, UUID lastId) {
+
+    public WarehouseCursor {
+        if (position < 0) {
+            throw new IllegalArgumentException("Cursor position must not be negative: " + position);
+        }
+    }
+
+    /**
+     * @param load identity of the cache load
+     * @param position cache position of the next match
+     * @return cursor resuming a snapshot page
+     */
+    public static WarehouseCursor atPosition(final long load, final int position) {
+        return new WarehouseCursor(load, position, null);
+    }
+
+    /**
+     * @param load identity of the cache load
+     * @param lastId id of the last warehouse returned
+     * @return cursor resuming a database page after the given row
+     */
+    public static WarehouseCursor afterId(final long load, final UUID lastId) {
+        return new WarehouseCursor(load, 0, lastId);
+    }
+}
@@ -1,16 +1,20 @@
 package com.training.callum.whoms.domain;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
+
 /**
  * Data transfer object for warehouse information loaded from external JSON files.
  * Used for reading warehouse data from input/warehouses.json.
+ *
+ * The input feed uses snake_case keys; aliases accept those while the REST API keeps camelCase.
  */
 public record WarehouseDTO(
     String name,
     String address,
     String city,
     String state,
-    String postalCode,
-    String warehousePhone,
-    int squareFootage,
-    int loadingDocks
-) {}
\ No newline at end of file
+    @JsonAlias("postal_code") String postalCode,
+    @JsonAlias("warehouse_phone") String warehousePhone,
+    @JsonAlias("square_footage") int squareFootage,
+    @JsonAlias("loading_docks") int loadingDocks
+) {}
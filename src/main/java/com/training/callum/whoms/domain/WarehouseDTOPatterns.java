@@ -4,16 +4,103 @@ import java.util.regex.Pattern;
 
 /**
  * Enum defining regex patterns and error messages for validating WarehouseDTO fields.
+ *
+ * The regex of each field is the specification; {@link #matches(CharSequence)} implements the same rule
+ * as a hand-written character scan so that validation on hot paths allocates no {@code Matcher}.
  */
-public enum WarehouseDTOPatterns {
-    NAME(Pattern.compile("^[a-zA-Z]+(?: [a-zA-Z]+)*$"), "Name must consist of alphabetic characters only, allowing multiple names separated by spaces."),
-    ADDRESS(Pattern.compile("^[a-zA-Z0-9 ,.-]+$"), "Address must be a valid single-line US address format (alphanumeric, spaces, commas, periods, hyphens)."),
-    CITY(Pattern.compile("^[a-zA-Z]+(?: [a-zA-Z.]+)*$"), "City must be a multi-part name with alphabetic characters, spaces, and optional abbreviation punctuation."),
-    STATE(Pattern.compile("^[A-Z]{2}$"), "State must be a two-letter uppercase abbreviation."),
-    POSTAL_CODE(Pattern.compile("^\\d{5}(-\\d{4})?$"), "Postal code must be a valid US format (5 digits, optional hyphen and 4 digits)."),
-    WAREHOUSE_PHONE(Pattern.compile("^\\(?\\d{3}\\)?[-.\\s]?\\d{3}[-.\\s]?\\d{4}$"), "Warehouse phone must be a valid US phone number format (with or without parentheses and dashes)."),
-    SQUARE_FOOTAGE(Pattern.compile("^\\d+$"), "Square footage must be a whole number (validation for range 1000-3000000 handled separately)."),
-    LOADING_DOCKS(Pattern.compile("^\\d+$"), "Loading docks must be a whole number (validation for range 1-100 handled separately).");
+public enum WarehouseDTOPatterns implements ValidatedField {
+    NAME(Pattern.compile("^[a-zA-Z]+(?: [a-zA-Z]+)*$"), "Name must consist of alphabetic characters only, allowing multiple names separated by spaces.") {
+        @Override
+        public boolean matches(final CharSequence value) {
+            return isSpaceSeparatedWords(value, false);
+        }
+    },
+    ADDRESS(Pattern.compile("^[a-zA-Z0-9 ,.-]+$"), "Address must be a valid single-line US address format (alphanumeric, spaces, commas, periods, hyphens).") {
+        @Override
+        public boolean matches(final CharSequence value) {
+            if (value == null || value.length() == 0) {
+                return false;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                if (!isLetter(c) && !isDigit(c) && c != ' ' && c != ',' && c != '.' && c != '-') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    },
+    CITY(Pattern.compile("^[a-zA-Z]+(?: [a-zA-Z.]+)*$"), "City must be a multi-part name with alphabetic characters, spaces, and optional abbreviation punctuation.") {
+        @Override
+        public boolean matches(final CharSequence value) {
+            return isSpaceSeparatedWords(value, true);
+        }
+    },
+    STATE(Pattern.compile("^[A-Z]{2}$"), "State must be a two-letter uppercase abbreviation.") {
+        @Override
+        public boolean matches(final CharSequence value) {
+            return value != null
+                    && value.length() == 2
+                    && isUpper(value.charAt(0))
+                    && isUpper(value.charAt(1));
+        }
+    },
+    POSTAL_CODE(Pattern.compile("^\\d{5}(-\\d{4})?$"), "Postal code must be a valid US format (5 digits, optional hyphen and 4 digits).") {
+        @Override
+        public boolean matches(final CharSequence value) {
+            if (value == null) {
+                return false;
+            }
+            final int length = value.length();
+            if (length == 5) {
+                return isDigits(value, 0, 5);
+            }
+            return length == 10 && isDigits(value, 0, 5) && value.charAt(5) == '-' && isDigits(value, 6, 10);
+        }
+    },
+    WAREHOUSE_PHONE(Pattern.compile("^\\(?\\d{3}\\)?[-.\\s]?\\d{3}[-.\\s]?\\d{4}$"), "Warehouse phone must be a valid US phone number format (with or without parentheses and dashes).") {
+        @Override
+        public boolean matches(final CharSequence value) {
+            if (value == null) {
+                return false;
+            }
+            final int length = value.length();
+            int i = 0;
+            if (i < length && value.charAt(i) == '(') {
+                i++;
+            }
+            if (i + 3 > length || !isDigits(value, i, i + 3)) {
+                return false;
+            }
+            i += 3;
+            if (i < length && value.charAt(i) == ')') {
+                i++;
+            }
+            if (i < length && isPhoneSeparator(value.charAt(i))) {
+                i++;
+            }
+            if (i + 3 > length || !isDigits(value, i, i + 3)) {
+                return false;
+            }
+            i += 3;
+            if (i < length && isPhoneSeparator(value.charAt(i))) {
+                i++;
+            }
+            return i + 4 == length && isDigits(value, i, length);
+        }
+    },
+    SQUARE_FOOTAGE(Pattern.compile("^\\d+$"), "Square footage must be a whole number (validation for range 1000-3000000 handled separately).") {
+        @Override
+        public boolean matches(final CharSequence value) {
+            return value != null && value.length() > 0 && isDigits(value, 0, value.length());
+        }
+    },
+    LOADING_DOCKS(Pattern.compile("^\\d+$"), "Loading docks must be a whole number (validation for range 1-100 handled separately).") {
+        @Override
+        public boolean matches(final CharSequence value) {
+            return value != null && value.length() > 0 && isDigits(value, 0, value.length());
+        }
+    };
 
     private final Pattern pattern;
     private final String errorMessage;
@@ -27,7 +114,81 @@ public enum WarehouseDTOPatterns {
         return pattern;
     }
 
+    @Override
     public String getErrorMessage() {
         return errorMessage;
     }
-}
\ No newline at end of file
+
+    @Override
+    public String fieldName() {
+        return switch (this) {
+            case NAME -> "name";
+            case ADDRESS -> "address";
+            case CITY -> "city";
+            case STATE -> "state";
+            case POSTAL_CODE -> "postalCode";
+            case WAREHOUSE_PHONE -> "warehousePhone";
+            case SQUARE_FOOTAGE -> "squareFootage";
+            case LOADING_DOCKS -> "loadingDocks";
+        };
+    }
+
+    /**
+     * Checks a value against this field's rule without allocating.
+     * Accepts exactly the inputs for which {@code getPattern().matcher(value).matches()} is true.
+     *
+     * @param value the value to check, may be null
+     * @return true when the value is non-null and satisfies the rule
+     */
+    public abstract boolean matches(CharSequence value);
+
+    /**
+     * Words of ASCII letters separated by single spaces. When {@code dotsAfterFirstWord} is set, words after
+     * the first may also contain periods, as the city rule allows for abbreviations.
+     */
+    private static boolean isSpaceSeparatedWords(final CharSequence value, final boolean dotsAfterFirstWord) {
+        if (value == null) {
+            return false;
+        }
+        boolean firstWord = true;
+        boolean inWord = false;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (isLetter(c) || (c == '.' && dotsAfterFirstWord && !firstWord)) {
+                inWord = true;
+            } else if (c == ' ' && inWord) {
+                inWord = false;
+                firstWord = false;
+            } else {
+                return false;
+            }
+        }
+        return inWord;
+    }
+
+    private static boolean isDigits(final CharSequence value, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLetter(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isUpper(final char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // matches the regex class [-.\s]; \s is [ \t\n\x0B\f\r]
+    private static boolean isPhoneSeparator(final char c) {
+        return c == '-' || c == '.' || c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
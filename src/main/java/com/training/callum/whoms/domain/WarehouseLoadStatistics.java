@@ -0,0 +1,26 @@
+package com.training.callum.whoms.domain;
+
+/**
+ * Summary of a single warehouse file load.
+ *
+ * Fields:
+ * - records: number of warehouses read from the file
+ * - elapsedNanos: wall-clock time spent parsing, validating and caching
+ * - peakHeapBytes: highest used heap sampled while the load was running
+ */
+public record WarehouseLoadStatistics(int records, long elapsedNanos, long peakHeapBytes) {
+
+    public static final WarehouseLoadStatistics EMPTY = new WarehouseLoadStatistics(0, 0L, 0L);
+
+    /**
+     * Throughput of the load.
+     *
+     * @return records processed per second, or 0 when nothing was timed
+     */
+    public double recordsPerSecond() {
+        if (elapsedNanos <= 0L) {
+            return 0d;
+        }
+        return records * 1_000_000_000d / elapsedNanos;
+    }
+}
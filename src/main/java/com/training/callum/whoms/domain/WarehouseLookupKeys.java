@@ -0,0 +1,77 @@
+package com.training.callum.whoms.domain;
+
+import java.util.Locale;
+
+/**
+ * Normalization rules for warehouse lookup keys.
+ *
+ * Every lookup path (in-memory indexes and database queries) must derive its keys through these
+ * methods so that the same search term resolves to the same warehouses everywhere.
+ */
+public final class WarehouseLookupKeys {
+
+    private WarehouseLookupKeys() {
+        // prevent instantiation
+    }
+
+    /**
+     * Case-insensitive key for warehouse names, equivalent to the {@code lower(name)} comparison.
+     *
+     * @param name warehouse name, may be null
+     * @return lower-cased name, or null when name is null
+     */
+    public static String name(final String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Key for postal codes. Postal codes are already canonical, so the value is used as is.
+     *
+     * @param postalCode postal code, may be null
+     * @return the postal code
+     */
+    public static String postalCode(final String postalCode) {
+        return postalCode;
+    }
+
+    /**
+     * Formatting-independent key for phone numbers: only the digits are kept, so
+     * {@code (401) 555-0101}, {@code 401-555-0101} and {@code 401.555.0101} share the key {@code 4015550101}.
+     *
+     * @param phone phone number, may be null
+     * @return digits of the phone number, or null when phone is null
+     */
+    public static String phone(final String phone) {
+        if (phone == null) {
+            return null;
+        }
+        final StringBuilder digits = new StringBuilder(10);
+        for (int i = 0; i < phone.length(); i++) {
+            final char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    /**
+     * Key for state abbreviations, upper-cased to match the two-letter convention.
+     *
+     * @param state state abbreviation, may be null
+     * @return upper-cased state, or null when state is null
+     */
+    public static String state(final String state) {
+        return state == null ? null : state.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Case-insensitive key for city names.
+     *
+     * @param city city name, may be null
+     * @return lower-cased city, or null when city is null
+     */
+    public static String city(final String city) {
+        return city == null ? null : city.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,68 @@
+package com.training.callum.whoms.domain;
+
+/**
+ * Kinds of key a warehouse lookup can be made by.
+ */
+public enum WarehouseLookupType {
+    NAME("name"),
+    POSTAL_CODE("postalCode"),
+    PHONE("phone");
+
+    private final String tag;
+
+    WarehouseLookupType(final String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * @return the name of the lookup type in metrics, logs and request parameters
+     */
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * Infers the kind of a lookup key from its format, with the same outcome as testing it against
+     * {@link WarehouseDTOPatterns#NAME}, {@link WarehouseDTOPatterns#POSTAL_CODE} and
+     * {@link WarehouseDTOPatterns#WAREHOUSE_PHONE} in that order.
+     *
+     * The three formats are told apart by their first character (a name starts with a letter, a postal
+     * code with a digit, a phone number with a digit or an opening parenthesis), so at most one scanner
+     * runs to completion; the postal code scanner rejects any key that is not 5 or 10 characters long
+     * before looking at it.
+     *
+     * @param key lookup key, may be null
+     * @return the lookup type, or null when the key is not a valid name, postal code or phone number
+     */
+    public static WarehouseLookupType classify(final CharSequence key) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+        final char first = key.charAt(0);
+        if ((first >= 'a' && first <= 'z') || (first >= 'A' && first <= 'Z')) {
+            return WarehouseDTOPatterns.NAME.matches(key) ? NAME : null;
+        }
+        final boolean digit = first >= '0' && first <= '9';
+        if (digit && WarehouseDTOPatterns.POSTAL_CODE.matches(key)) {
+            return POSTAL_CODE;
+        }
+        if ((digit || first == '(') && WarehouseDTOPatterns.WAREHOUSE_PHONE.matches(key)) {
+            return PHONE;
+        }
+        return null;
+    }
+
+    /**
+     * @param tag a lookup type tag, see {@link #tag()}
+     * @return the lookup type with that tag
+     * @throws IllegalArgumentException when no lookup type has that tag
+     */
+    public static WarehouseLookupType fromTag(final String tag) {
+        for (final WarehouseLookupType type : values()) {
+            if (type.tag.equals(tag)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown lookup type: " + tag);
+    }
+}
@@ -0,0 +1,16 @@
+package com.training.callum.whoms.domain;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One page of warehouses matching a {@link WarehouseQuery}.
+ *
+ * Fields:
+ * - items: matching warehouses in cache order, at most the requested page size
+ * - next: cursor to resume from for the following page, empty on the last page
+ */
+public record WarehousePage(List<WarehouseDTO> items, Optional<WarehouseCursor> next) {
+
+    public static final WarehousePage EMPTY = new WarehousePage(List.of(), Optional.empty());
+}
@@ -0,0 +1,37 @@
+package com.training.callum.whoms.domain;
+
+/**
+ * Filter criteria for listing cached warehouses. Every criterion is optional; null means "any".
+ *
+ * Fields:
+ * - state: two-letter state abbreviation, compared ignoring case
+ * - city: city name, compared ignoring case
+ * - minSquareFootage / maxSquareFootage: inclusive square footage range
+ * - minLoadingDocks / maxLoadingDocks: inclusive loading dock range
+ */
+public record WarehouseQuery(
+    String state,
+    String city,
+    Integer minSquareFootage,
+    Integer maxSquareFootage,
+    Integer minLoadingDocks,
+    Integer maxLoadingDocks
+) {
+
+    public static final WarehouseQuery ALL = new WarehouseQuery(null, null, null, null, null, null);
+
+    /**
+     * Checks whether a warehouse satisfies every criterion of this query.
+     *
+     * @param dto the warehouse to test
+     * @return true when the warehouse matches
+     */
+    public boolean matches(final WarehouseDTO dto) {
+        return (state == null || state.equalsIgnoreCase(dto.state()))
+                && (city == null || city.equalsIgnoreCase(dto.city()))
+                && (minSquareFootage == null || dto.squareFootage() >= minSquareFootage)
+                && (maxSquareFootage == null || dto.squareFootage() <= maxSquareFootage)
+                && (minLoadingDocks == null || dto.loadingDocks() >= minLoadingDocks)
+                && (maxLoadingDocks == null || dto.loadingDocks() <= maxLoadingDocks);
+    }
+}
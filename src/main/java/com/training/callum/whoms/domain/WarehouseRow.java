@@ -0,0 +1,26 @@
+package com.training.callum.whoms.domain;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of a persisted warehouse row, selected without loading a managed entity.
+ */
+public record WarehouseRow(
+    UUID id,
+    String name,
+    String address,
+    String city,
+    String state,
+    String postalCode,
+    String warehousePhone,
+    int squareFootage,
+    int loadingDocks
+) {
+
+    /**
+     * @return the row's warehouse data without the id
+     */
+    public WarehouseDTO toDTO() {
+        return new WarehouseDTO(name, address, city, state, postalCode, warehousePhone, squareFootage, loadingDocks);
+    }
+}
@@ -0,0 +1,15 @@
+package com.training.callum.whoms.domain;
+
+/**
+ * Outcome of synchronizing the warehouse cache into the database.
+ *
+ * Fields:
+ * - inserted: cached warehouses with no persisted row that were inserted
+ * - updated: persisted rows whose fields differed from the cache and were updated
+ * - unchanged: persisted rows already matching the cache, left untouched
+ * - skipped: cached warehouses not written because they failed validation or an earlier cached warehouse
+ *   had the same name
+ * - failed: inserts or updates that were rolled back
+ */
+public record WarehouseSyncResult(int inserted, int updated, int unchanged, int skipped, int failed) {
+}
@@ -1,20 +1,167 @@
 package com.training.callum.whoms.repository;
 
+import com.training.callum.whoms.config.CacheConfiguration;
 import com.training.callum.whoms.domain.Warehouse;
+import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.domain.WarehouseLookupKeys;
+import com.training.callum.whoms.domain.WarehouseQuery;
+import com.training.callum.whoms.domain.WarehouseRow;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+/**
+ * Repository for warehouse entities.
+ *
+ * The DTO projection lookups by name, postal code and phone are read through bounded caches (see
+ * {@link CacheConfiguration}); code that writes warehouses must evict the affected keys through
+ * {@code WarehouseLookupCache}. Only immutable projections are cached. The entity lookups always query
+ * the database, because cached managed entities would be shared between threads and transactions and a
+ * change made through one caller's setters would leak to every other caller, even after a rollback.
+ */
 @Repository
 public interface WarehouseJpaRepository extends JpaRepository<Warehouse, UUID> {
 
+    /** Select clause of the read-only lookups, projecting rows straight into WarehouseDTO. */
+    String SELECT_DTO = "select new com.training.callum.whoms.domain.WarehouseDTO(w.name, w.address, w.city,"
+            + " w.state, w.postalCode, w.warehousePhone, w.squareFootage, w.loadingDocks) from Warehouse w";
+
+    /** Select clause of the row projections, which carry the id as well. */
+    String SELECT_ROW = "select new com.training.callum.whoms.domain.WarehouseRow(w.id, w.name, w.address, w.city,"
+            + " w.state, w.postalCode, w.warehousePhone, w.squareFootage, w.loadingDocks) from Warehouse w";
+
+    /** Where clause matching a {@link WarehouseQuery}; a null parameter matches any value. */
+    String WHERE_QUERY = " where (:state is null or upper(w.state) = :state)"
+            + " and (:city is null or lower(w.city) = :city)"
+            + " and (:minSquareFootage is null or w.squareFootage >= :minSquareFootage)"
+            + " and (:maxSquareFootage is null or w.squareFootage <= :maxSquareFootage)"
+            + " and (:minLoadingDocks is null or w.loadingDocks >= :minLoadingDocks)"
+            + " and (:maxLoadingDocks is null or w.loadingDocks <= :maxLoadingDocks)";
+
     List<Warehouse> findByPostalCode(String postalCode);
 
-    @Query("select w from Warehouse w where w.warehousePhone = :phone")
-    List<Warehouse> findByPhone(String phone);
+    /**
+     * Finds warehouses by phone number, ignoring formatting, through the indexed phone key column.
+     */
+    default List<Warehouse> findByPhone(final String phone) {
+        return findByPhoneKey(WarehouseLookupKeys.phone(phone));
+    }
+
+    /**
+     * Finds warehouses by name, ignoring case, through the indexed name key column.
+     */
+    default List<Warehouse> findByName(final String name) {
+        return findByNameKey(WarehouseLookupKeys.name(name));
+    }
+
+    /**
+     * @param nameKey name normalized with {@link WarehouseLookupKeys#name(String)}
+     */
+    List<Warehouse> findByNameKey(String nameKey);
+
+    /**
+     * @param phoneKey phone normalized with {@link WarehouseLookupKeys#phone(String)}
+     */
+    List<Warehouse> findByPhoneKey(String phoneKey);
+
+    /**
+     * Finds warehouses written before the lookup key columns existed, whose keys are still missing.
+     */
+    List<Warehouse> findByNameKeyIsNullOrPhoneKeyIsNull(Pageable page);
+
+    /**
+     * Finds warehouses by name, ignoring case, as DTO projections rather than managed entities.
+     */
+    @Cacheable(cacheNames = CacheConfiguration.WAREHOUSE_DTOS_BY_NAME,
+            key = "T(com.training.callum.whoms.domain.WarehouseLookupKeys).name(#p0)")
+    default List<WarehouseDTO> findDTOsByName(final String name) {
+        return List.copyOf(findDTOsByNameKey(WarehouseLookupKeys.name(name)));
+    }
+
+    /**
+     * Finds warehouses by phone number, ignoring formatting, as DTO projections rather than managed entities.
+     */
+    @Cacheable(cacheNames = CacheConfiguration.WAREHOUSE_DTOS_BY_PHONE,
+            key = "T(com.training.callum.whoms.domain.WarehouseLookupKeys).phone(#p0)")
+    default List<WarehouseDTO> findDTOsByPhone(final String phone) {
+        return List.copyOf(findDTOsByPhoneKey(WarehouseLookupKeys.phone(phone)));
+    }
+
+    /**
+     * Finds warehouses by postal code as DTO projections rather than managed entities.
+     */
+    @Cacheable(cacheNames = CacheConfiguration.WAREHOUSE_DTOS_BY_POSTAL_CODE, key = "#p0")
+    default List<WarehouseDTO> findDTOsByPostalCode(final String postalCode) {
+        return List.copyOf(findDTOsByPostalCodeKey(postalCode));
+    }
+
+    /**
+     * @param postalCode postal code as stored; postal codes are not normalized
+     */
+    @Query(SELECT_DTO + " where w.postalCode = :postalCode")
+    List<WarehouseDTO> findDTOsByPostalCodeKey(String postalCode);
+
+    @Query(SELECT_DTO + " where w.nameKey = :nameKey")
+    List<WarehouseDTO> findDTOsByNameKey(String nameKey);
+
+    @Query(SELECT_DTO + " where w.phoneKey = :phoneKey")
+    List<WarehouseDTO> findDTOsByPhoneKey(String phoneKey);
+
+    /**
+     * Finds every warehouse matching the query as DTO projections, ordered by id.
+     */
+    default List<WarehouseDTO> findDTOs(final WarehouseQuery query) {
+        return findDTOs(WarehouseLookupKeys.state(query.state()), WarehouseLookupKeys.city(query.city()),
+                query.minSquareFootage(), query.maxSquareFootage(), query.minLoadingDocks(), query.maxLoadingDocks());
+    }
+
+    /**
+     * Finds up to {@code limit} warehouses matching the query, ordered by id, that come after the given id.
+     * Paging by the last id seen rather than by an offset keeps a page from repeating or skipping rows when
+     * warehouses are inserted or deleted between pages.
+     *
+     * @param query filter criteria
+     * @param afterId id of the last warehouse of the previous page, null for the first page
+     * @param limit maximum number of rows
+     * @return matching rows ordered by id
+     */
+    default List<WarehouseRow> findRowPage(final WarehouseQuery query, final UUID afterId, final int limit) {
+        return findRows(WarehouseLookupKeys.state(query.state()), WarehouseLookupKeys.city(query.city()),
+                query.minSquareFootage(), query.maxSquareFootage(), query.minLoadingDocks(), query.maxLoadingDocks(),
+                afterId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * @param state state normalized with {@link WarehouseLookupKeys#state(String)}, null for any
+     * @param city city normalized with {@link WarehouseLookupKeys#city(String)}, null for any
+     */
+    @Query(SELECT_DTO + WHERE_QUERY + " order by w.id")
+    List<WarehouseDTO> findDTOs(String state, String city, Integer minSquareFootage, Integer maxSquareFootage,
+            Integer minLoadingDocks, Integer maxLoadingDocks);
+
+    /**
+     * @param state state normalized with {@link WarehouseLookupKeys#state(String)}, null for any
+     * @param city city normalized with {@link WarehouseLookupKeys#city(String)}, null for any
+     * @param afterId exclusive lower bound of the ids, null for none
+     */
+    @Query(SELECT_ROW + WHERE_QUERY + " and (:afterId is null or w.id > :afterId) order by w.id")
+    List<WarehouseRow> findRows(String state, String city, Integer minSquareFootage, Integer maxSquareFootage,
+            Integer minLoadingDocks, Integer maxLoadingDocks, UUID afterId, Pageable page);
 
-    @Query("select w from Warehouse w where lower(w.name) = lower(:name)")
-    List<Warehouse> findByName(String name);
-}
\ No newline at end of file
+    /**
+     * Streams every persisted warehouse as a projection, so no managed entities accumulate in the
+     * persistence context. Must be consumed inside a transaction and closed by the caller.
+     */
+    @Query(SELECT_ROW)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<WarehouseRow> streamAllRows();
+}
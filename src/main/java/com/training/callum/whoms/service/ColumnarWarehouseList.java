@@ -0,0 +1,206 @@
+package com.training.callum.whoms.service;
+
+import com.training.callum.whoms.domain.WarehouseDTO;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Read-only warehouse list stored column by column instead of as one object graph per warehouse.
+ *
+ * - square footage and loading docks are primitive int arrays
+ * - state and city are dictionary-encoded: each distinct value is held once and warehouses keep an int code
+ * - name, address, postal code and phone are packed as UTF-8 into one off-heap memory segment, each as an
+ *   int byte length (-1 for null) followed by its bytes, with the offset of every warehouse kept on the heap
+ *
+ * That is a few dozen heap bytes per warehouse instead of a record and six strings. {@link #get(int)}
+ * decodes a new {@link WarehouseDTO} view on every call, so callers must compare warehouses with
+ * {@code equals} rather than by identity; the views are short-lived and die young.
+ *
+ * The segment belongs to an automatic arena and is freed once the list is unreachable. Readers never
+ * hold a lock, so there is no point at which the memory could be released explicitly and safely.
+ */
+final class ColumnarWarehouseList extends AbstractList<WarehouseDTO> implements RandomAccess {
+
+    private static final ValueLayout.OfInt LENGTH = ValueLayout.JAVA_INT_UNALIGNED;
+    private static final int NULL_LENGTH = -1;
+    private static final int NULL_CODE = -1;
+
+    private final MemorySegment strings;
+    private final long[] offsets;
+    private final String[] states;
+    private final int[] stateCodes;
+    private final String[] cities;
+    private final int[] cityCodes;
+    private final int[] squareFootage;
+    private final int[] loadingDocks;
+
+    private ColumnarWarehouseList(
+            final MemorySegment strings,
+            final long[] offsets,
+            final String[] states,
+            final int[] stateCodes,
+            final String[] cities,
+            final int[] cityCodes,
+            final int[] squareFootage,
+            final int[] loadingDocks) {
+        this.strings = strings;
+        this.offsets = offsets;
+        this.states = states;
+        this.stateCodes = stateCodes;
+        this.cities = cities;
+        this.cityCodes = cityCodes;
+        this.squareFootage = squareFootage;
+        this.loadingDocks = loadingDocks;
+    }
+
+    /**
+     * Copies warehouses into columns. The source list is only read and can be dropped afterwards.
+     *
+     * @param warehouses warehouses in snapshot order
+     * @return columnar copy with the same elements in the same order
+     */
+    static ColumnarWarehouseList copyOf(final List<WarehouseDTO> warehouses) {
+        final int size = warehouses.size();
+        final long[] offsets = new long[size];
+        final int[] stateCodes = new int[size];
+        final int[] cityCodes = new int[size];
+        final int[] squareFootage = new int[size];
+        final int[] loadingDocks = new int[size];
+        final Dictionary states = new Dictionary();
+        final Dictionary cities = new Dictionary();
+
+        long bytes = 0;
+        for (int i = 0; i < size; i++) {
+            final WarehouseDTO warehouse = warehouses.get(i);
+            offsets[i] = bytes;
+            bytes += encodedLength(warehouse.name()) + encodedLength(warehouse.address())
+                    + encodedLength(warehouse.postalCode()) + encodedLength(warehouse.warehousePhone());
+            stateCodes[i] = states.code(warehouse.state());
+            cityCodes[i] = cities.code(warehouse.city());
+            squareFootage[i] = warehouse.squareFootage();
+            loadingDocks[i] = warehouse.loadingDocks();
+        }
+
+        final MemorySegment strings = Arena.ofAuto().allocate(bytes, 1);
+        for (int i = 0; i < size; i++) {
+            final WarehouseDTO warehouse = warehouses.get(i);
+            long offset = offsets[i];
+            offset = putString(strings, offset, warehouse.name());
+            offset = putString(strings, offset, warehouse.address());
+            offset = putString(strings, offset, warehouse.postalCode());
+            putString(strings, offset, warehouse.warehousePhone());
+        }
+        return new ColumnarWarehouseList(strings, offsets, states.values(), stateCodes, cities.values(), cityCodes,
+                squareFootage, loadingDocks);
+    }
+
+    @Override
+    public WarehouseDTO get(final int index) {
+        Objects.checkIndex(index, offsets.length);
+        long offset = offsets[index];
+        final String name = getString(offset);
+        offset = skipString(offset);
+        final String address = getString(offset);
+        offset = skipString(offset);
+        final String postalCode = getString(offset);
+        offset = skipString(offset);
+        final String phone = getString(offset);
+        return new WarehouseDTO(name, address, decode(cities, cityCodes[index]), decode(states, stateCodes[index]),
+                postalCode, phone, squareFootage[index], loadingDocks[index]);
+    }
+
+    @Override
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * @return bytes held outside the heap by this list
+     */
+    long offHeapBytes() {
+        return strings.byteSize();
+    }
+
+    private String getString(final long offset) {
+        final int length = strings.get(LENGTH, offset);
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        MemorySegment.copy(strings, ValueLayout.JAVA_BYTE, offset + Integer.BYTES, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long skipString(final long offset) {
+        final int length = strings.get(LENGTH, offset);
+        return offset + Integer.BYTES + (length == NULL_LENGTH ? 0 : length);
+    }
+
+    private static long putString(final MemorySegment strings, final long offset, final String value) {
+        if (value == null) {
+            strings.set(LENGTH, offset, NULL_LENGTH);
+            return offset + Integer.BYTES;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        strings.set(LENGTH, offset, bytes.length);
+        MemorySegment.copy(bytes, 0, strings, ValueLayout.JAVA_BYTE, offset + Integer.BYTES, bytes.length);
+        return offset + Integer.BYTES + bytes.length;
+    }
+
+    private static String decode(final String[] dictionary, final int code) {
+        return code == NULL_CODE ? null : dictionary[code];
+    }
+
+    /**
+     * Size of a string in the segment: its length prefix plus its UTF-8 bytes, counted without encoding it.
+     */
+    private static int encodedLength(final String value) {
+        if (value == null) {
+            return Integer.BYTES;
+        }
+        int bytes = Integer.BYTES;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                // lone surrogates are encoded as a one byte replacement by String.getBytes
+                bytes += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return bytes;
+    }
+
+    /** Assigns dense codes to distinct values in order of first appearance; used only while copying. */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        int code(final String value) {
+            if (value == null) {
+                return NULL_CODE;
+            }
+            return codes.computeIfAbsent(value, v -> codes.size());
+        }
+
+        String[] values() {
+            final String[] values = new String[codes.size()];
+            codes.forEach((value, code) -> values[code] = value);
+            return values;
+        }
+    }
+}
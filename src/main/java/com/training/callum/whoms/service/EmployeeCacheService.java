@@ -0,0 +1,121 @@
+package com.training.callum.whoms.service;
+
+import com.training.callum.whoms.config.InputProperties;
+import com.training.callum.whoms.domain.EmployeeDTO;
+import com.training.callum.whoms.domain.EmployeeDTOPatterns;
+import com.training.callum.whoms.domain.ValidationResult;
+import com.training.callum.whoms.domain.ValidationSummary;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for caching EmployeeDTO objects loaded from the external employee CSV file.
+ * Validates employee data and stores the valid employees for efficient access; employees that fail
+ * validation are not cached, and the failures are counted per field and logged once per load.
+ *
+ * Files on the file system are memory-mapped and parsed in place; other resources (e.g. inside the
+ * application jar) are streamed through a read buffer. Like the warehouse cache, the loaded employees
+ * are published as one immutable list so readers never see a partial load.
+ */
+@Service
+public final class EmployeeCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeCacheService.class);
+
+    private final InputProperties inputProperties;
+    private final ResourceLoader resourceLoader;
+    private final ExtDataValidationService validationService;
+    private volatile List<EmployeeDTO> employees = List.of();
+
+    public EmployeeCacheService(
+            final InputProperties inputProperties,
+            final ResourceLoader resourceLoader,
+            final ExtDataValidationService validationService) {
+        this.inputProperties = inputProperties;
+        this.resourceLoader = resourceLoader;
+        this.validationService = validationService;
+    }
+
+    /**
+     * Loads employee DTOs from the configured file path.
+     * Validates each employee and caches the valid ones, logging one summary of the employees that failed
+     * validation.
+     *
+     * Runs on the calling thread; at startup {@link WarehouseCacheWarmUp} calls it in the background.
+     */
+    public void loadEmployees() {
+        final String employeePath = inputProperties.file().employees();
+        log.debug("Loading employees from path: {}", employeePath);
+
+        final Resource resource = resourceLoader.getResource(employeePath);
+        if (!resource.exists()) {
+            log.error("Employee file not found at path: {}", employeePath);
+            return;
+        }
+
+        final ArrayList<EmployeeDTO> loaded = new ArrayList<>();
+        final ValidationSummary.Accumulator<EmployeeDTOPatterns> validation =
+                new ValidationSummary.Accumulator<>(EmployeeDTOPatterns.class);
+        final Consumer<EmployeeDTO> sink = employee -> {
+            final ValidationResult<EmployeeDTOPatterns> result = validationService.validateEmployee(employee);
+            validation.add(result);
+            // nothing can act on an employee with an invalid ITIN or contact details, so it is counted, not cached
+            if (result.isValid()) {
+                loaded.add(employee);
+            }
+        };
+        final EmployeeCsvParser parser = new EmployeeCsvParser();
+        final long started = System.nanoTime();
+        try {
+            final EmployeeCsvParser.Summary summary;
+            if (resource.isFile()) {
+                try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+                    summary = parser.parseMapped(channel, sink);
+                }
+            } else {
+                try (ReadableByteChannel channel = Channels.newChannel(resource.getInputStream())) {
+                    summary = parser.parse(channel, sink);
+                }
+            }
+            loaded.trimToSize();
+            employees = Collections.unmodifiableList(loaded);
+
+            final ValidationSummary<EmployeeDTOPatterns> validationSummary = validation.toSummary();
+            if (!validationSummary.isValid()) {
+                log.warn("{} of {} employees from {} failed validation: {}", validationSummary.invalid(),
+                        validationSummary.validated(), employeePath, validationSummary.describeFailures());
+            }
+
+            final long elapsedNanos = System.nanoTime() - started;
+            log.info("Loaded {} employees from {} ({} rows rejected, {} invalid employees dropped) at {} records/s",
+                    loaded.size(),
+                    employeePath,
+                    summary.rejected(),
+                    validationSummary.invalid(),
+                    String.format("%.1f", summary.parsed() * 1_000_000_000d / Math.max(1L, elapsedNanos)));
+        } catch (final IOException e) {
+            log.error("Failed to load employees from path: {}", employeePath, e);
+        }
+    }
+
+    /**
+     * Returns the cached employee list. The list is unmodifiable and shared between callers.
+     *
+     * @return list of cached EmployeeDTO objects
+     */
+    public List<EmployeeDTO> getEmployees() {
+        return employees;
+    }
+}
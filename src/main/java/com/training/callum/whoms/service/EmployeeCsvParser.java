@@ -0,0 +1,251 @@
+package com.training.callum.whoms.service;
+
+import com.training.callum.whoms.domain.EmployeeDTO;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Byte-level parser for the employee CSV feed
+ * ({@code firstName,lastName,itin,mobileNumber,personalEmail,dateOfBirth}).
+ *
+ * Rows are scanned directly in a {@link ByteBuffer} — either a memory-mapped window of a file or a
+ * reusable read buffer — by locating comma and newline bytes, so no line strings, split arrays or
+ * regex matchers are created. Only the six field values of each row are materialized. Quoted
+ * fields are not supported; the feed does not use them. Rows with the wrong number of fields or an
+ * unparseable MM/dd/yyyy date of birth are counted as rejected and skipped.
+ *
+ * Instances are not thread-safe but may be reused for consecutive parses.
+ */
+public final class EmployeeCsvParser {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /** Largest region of a file mapped at once; rows are carried over between windows. */
+    private static final long MAX_MAPPED_WINDOW = 256L * 1024 * 1024;
+
+    private static final int FIELD_COUNT = 6;
+    private static final int DATE_LENGTH = 10;
+    private static final byte[] HEADER_PREFIX = "firstName,".getBytes(StandardCharsets.US_ASCII);
+
+    private final int bufferSize;
+    private final int[] commas = new int[FIELD_COUNT - 1];
+    private byte[] scratch = new byte[128];
+
+    private Consumer<EmployeeDTO> sink;
+    private boolean firstLine;
+    private long parsed;
+    private long rejected;
+
+    /**
+     * Outcome of a parse.
+     *
+     * @param parsed rows handed to the sink
+     * @param rejected rows skipped because they could not be parsed
+     */
+    public record Summary(long parsed, long rejected) {
+    }
+
+    public EmployeeCsvParser() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize initial read buffer size for {@link #parse(ReadableByteChannel, Consumer)};
+     *                   the buffer grows if a single row does not fit
+     */
+    public EmployeeCsvParser(final int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Parses a file by memory-mapping it in windows, avoiding any copy into a read buffer.
+     *
+     * @param channel open file channel positioned anywhere; the whole file is parsed
+     * @param sink receives each parsed employee in file order
+     * @return parsed and rejected row counts
+     * @throws IOException when mapping fails or a single row is larger than the mapping window
+     */
+    public Summary parseMapped(final FileChannel channel, final Consumer<EmployeeDTO> sink) throws IOException {
+        start(sink);
+        final long size = channel.size();
+        long offset = 0;
+        while (offset < size) {
+            final long window = Math.min(MAX_MAPPED_WINDOW, size - offset);
+            final boolean last = offset + window == size;
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, window);
+            consumeLines(buffer, last);
+            if (last) {
+                break;
+            }
+            if (buffer.position() == 0) {
+                throw new IOException("Employee row at offset " + offset + " exceeds " + MAX_MAPPED_WINDOW + " bytes");
+            }
+            offset += buffer.position();
+        }
+        return finish();
+    }
+
+    /**
+     * Parses any byte channel through a reusable read buffer.
+     *
+     * @param channel source channel, read until end of stream and left open
+     * @param sink receives each parsed employee in input order
+     * @return parsed and rejected row counts
+     * @throws IOException when reading fails
+     */
+    public Summary parse(final ReadableByteChannel channel, final Consumer<EmployeeDTO> sink) throws IOException {
+        start(sink);
+        ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        while (true) {
+            final boolean endOfInput = channel.read(buffer) < 0;
+            buffer.flip();
+            consumeLines(buffer, endOfInput);
+            if (endOfInput) {
+                break;
+            }
+            if (buffer.position() == 0 && buffer.limit() == buffer.capacity()) {
+                // a single row fills the whole buffer: grow it and keep reading
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer);
+            } else {
+                buffer.compact();
+            }
+        }
+        return finish();
+    }
+
+    private void start(final Consumer<EmployeeDTO> rowSink) {
+        this.sink = rowSink;
+        this.firstLine = true;
+        this.parsed = 0;
+        this.rejected = 0;
+    }
+
+    private Summary finish() {
+        this.sink = null;
+        return new Summary(parsed, rejected);
+    }
+
+    /**
+     * Handles every complete row between the buffer's position and limit and advances the position past
+     * the last newline. At end of input a trailing row without newline is handled as well.
+     */
+    private void consumeLines(final ByteBuffer buffer, final boolean endOfInput) {
+        final int limit = buffer.limit();
+        int lineStart = buffer.position();
+        int commaCount = 0;
+        for (int i = lineStart; i < limit; i++) {
+            final byte b = buffer.get(i);
+            if (b == ',') {
+                if (commaCount < commas.length) {
+                    commas[commaCount] = i;
+                }
+                commaCount++;
+            } else if (b == '\n') {
+                handleLine(buffer, lineStart, i, commaCount);
+                lineStart = i + 1;
+                commaCount = 0;
+            }
+        }
+        if (endOfInput && lineStart < limit) {
+            handleLine(buffer, lineStart, limit, commaCount);
+            lineStart = limit;
+        }
+        buffer.position(lineStart);
+    }
+
+    private void handleLine(final ByteBuffer buffer, final int start, final int newline, final int commaCount) {
+        final int end = newline > start && buffer.get(newline - 1) == '\r' ? newline - 1 : newline;
+        if (end == start) {
+            return;
+        }
+        if (firstLine) {
+            firstLine = false;
+            if (startsWith(buffer, start, end, HEADER_PREFIX)) {
+                return;
+            }
+        }
+        if (commaCount != commas.length) {
+            rejected++;
+            return;
+        }
+
+        final LocalDate dateOfBirth = parseDate(buffer, commas[4] + 1, end);
+        if (dateOfBirth == null) {
+            rejected++;
+            return;
+        }
+        sink.accept(new EmployeeDTO(
+                field(buffer, start, commas[0]),
+                field(buffer, commas[0] + 1, commas[1]),
+                field(buffer, commas[1] + 1, commas[2]),
+                field(buffer, commas[2] + 1, commas[3]),
+                field(buffer, commas[3] + 1, commas[4]),
+                dateOfBirth));
+        parsed++;
+    }
+
+    private String field(final ByteBuffer buffer, final int from, final int to) {
+        final int length = to - from;
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(from, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads an MM/dd/yyyy date straight from the bytes.
+     *
+     * @return the date, or null when the text is not a valid date in that format
+     */
+    private static LocalDate parseDate(final ByteBuffer buffer, final int from, final int to) {
+        if (to - from != DATE_LENGTH || buffer.get(from + 2) != '/' || buffer.get(from + 5) != '/') {
+            return null;
+        }
+        final int month = digits(buffer, from, 2);
+        final int day = digits(buffer, from + 3, 2);
+        final int year = digits(buffer, from + 6, 4);
+        if (month < 0 || day < 0 || year < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException ex) {
+            return null;
+        }
+    }
+
+    private static int digits(final ByteBuffer buffer, final int from, final int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            final int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean startsWith(final ByteBuffer buffer, final int from, final int to, final byte[] prefix) {
+        if (to - from < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(from + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
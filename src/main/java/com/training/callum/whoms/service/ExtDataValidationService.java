@@ -1,46 +1,105 @@
 package com.training.callum.whoms.service;
 
+import com.training.callum.whoms.domain.EmployeeDTO;
+import com.training.callum.whoms.domain.EmployeeDTOPatterns;
+import com.training.callum.whoms.domain.ValidationResult;
+import com.training.callum.whoms.domain.ValidationSummary;
+import com.training.callum.whoms.domain.Warehouse;
 import com.training.callum.whoms.domain.WarehouseDTO;
 import com.training.callum.whoms.domain.WarehouseDTOPatterns;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.time.LocalDate;
 import org.springframework.stereotype.Service;
 
 /**
- * Service for validating external data objects, specifically WarehouseDTO.
- * Logs errors for each field that fails validation.
+ * Service for validating external data objects, specifically WarehouseDTO, Warehouse and EmployeeDTO.
+ *
+ * Validation returns a {@link ValidationResult} over {@link WarehouseDTOPatterns} or {@link EmployeeDTOPatterns}
+ * instead of logging, leaving it to the caller whether to reject, report or aggregate failures; batches can be
+ * folded into a single {@link ValidationSummary}.
  */
 @Service
 public class ExtDataValidationService {
 
-    private static final Logger log = LoggerFactory.getLogger(ExtDataValidationService.class);
-
     /**
-     * Validates all fields of the given WarehouseDTO.
-     * Logs an error for each field that fails validation, including pattern mismatches and range checks.
+     * Validates all fields of the given WarehouseDTO, including pattern mismatches and range checks.
      *
      * @param dto the WarehouseDTO to validate
+     * @return the fields that failed, a valid result when none did
      */
-    public void validate(final WarehouseDTO dto) {
-        validateField(dto.name(), WarehouseDTOPatterns.NAME, "name");
-        validateField(dto.address(), WarehouseDTOPatterns.ADDRESS, "address");
-        validateField(dto.city(), WarehouseDTOPatterns.CITY, "city");
-        validateField(dto.state(), WarehouseDTOPatterns.STATE, "state");
-        validateField(dto.postalCode(), WarehouseDTOPatterns.POSTAL_CODE, "postalCode");
-        validateField(dto.warehousePhone(), WarehouseDTOPatterns.WAREHOUSE_PHONE, "warehousePhone");
-        validateNumericField(dto.squareFootage(), WarehouseDTOPatterns.SQUARE_FOOTAGE, "squareFootage", 1000, 3000000);
-        validateNumericField(dto.loadingDocks(), WarehouseDTOPatterns.LOADING_DOCKS, "loadingDocks", 1, 100);
-    }
-
-    private void validateField(final String value, final WarehouseDTOPatterns pattern, final String fieldName) {
-        if (value == null || !pattern.getPattern().matcher(value).matches()) {
-            log.error("Field {} failed validation: {}", fieldName, pattern.getErrorMessage());
-        }
+    public ValidationResult<WarehouseDTOPatterns> validate(final WarehouseDTO dto) {
+        return validateWarehouseFields(dto.name(), dto.address(), dto.city(), dto.state(), dto.postalCode(),
+                dto.warehousePhone(), dto.squareFootage(), dto.loadingDocks());
+    }
+
+    /**
+     * Validates all fields of the given Warehouse entity with the same rules as {@link #validate(WarehouseDTO)},
+     * reading the entity directly rather than copying it into a DTO first.
+     *
+     * @param warehouse the Warehouse entity to validate
+     * @return the fields that failed, a valid result when none did
+     */
+    public ValidationResult<WarehouseDTOPatterns> validateEntity(final Warehouse warehouse) {
+        return validateWarehouseFields(warehouse.getName(), warehouse.getAddress(), warehouse.getCity(), warehouse.getState(),
+                warehouse.getPostalCode(), warehouse.getWarehousePhone(), warehouse.getSquareFootage(),
+                warehouse.getLoadingDocks());
     }
 
-    private void validateNumericField(final int value, final WarehouseDTOPatterns pattern, final String fieldName, final int min, final int max) {
-        if (value < min || value > max) {
-            log.error("Field {} failed validation: value {} not in range {}-{}", fieldName, value, min, max);
+    /**
+     * Validates a batch of WarehouseDTOs and counts failures per field instead of reporting each one.
+     *
+     * @param dtos the WarehouseDTOs to validate
+     * @return aggregated counts for the batch
+     */
+    public ValidationSummary<WarehouseDTOPatterns> validateAll(final Iterable<WarehouseDTO> dtos) {
+        final ValidationSummary.Accumulator<WarehouseDTOPatterns> accumulator =
+                new ValidationSummary.Accumulator<>(WarehouseDTOPatterns.class);
+        for (final WarehouseDTO dto : dtos) {
+            accumulator.add(validate(dto));
         }
+        return accumulator.toSummary();
+    }
+
+    /**
+     * Validates all fields of the given EmployeeDTO; the date of birth must lie in the past.
+     *
+     * @param dto the EmployeeDTO to validate
+     * @return the fields that failed, a valid result when none did
+     */
+    public ValidationResult<EmployeeDTOPatterns> validateEmployee(final EmployeeDTO dto) {
+        final int failedMask = validateField(dto.firstName(), EmployeeDTOPatterns.FIRST_NAME)
+                | validateField(dto.lastName(), EmployeeDTOPatterns.LAST_NAME)
+                | validateField(dto.itin(), EmployeeDTOPatterns.ITIN)
+                | validateField(dto.mobileNumber(), EmployeeDTOPatterns.MOBILE_NUMBER)
+                | validateField(dto.personalEmail(), EmployeeDTOPatterns.PERSONAL_EMAIL)
+                | (dto.dateOfBirth() == null || !dto.dateOfBirth().isBefore(LocalDate.now())
+                        ? ValidationResult.bit(EmployeeDTOPatterns.DATE_OF_BIRTH) : 0);
+        return ValidationResult.of(EmployeeDTOPatterns.class, failedMask);
+    }
+
+    private ValidationResult<WarehouseDTOPatterns> validateWarehouseFields(
+            final String name, final String address, final String city, final String state, final String postalCode,
+            final String warehousePhone, final int squareFootage, final int loadingDocks) {
+        final int failedMask = validateField(name, WarehouseDTOPatterns.NAME)
+                | validateField(address, WarehouseDTOPatterns.ADDRESS)
+                | validateField(city, WarehouseDTOPatterns.CITY)
+                | validateField(state, WarehouseDTOPatterns.STATE)
+                | validateField(postalCode, WarehouseDTOPatterns.POSTAL_CODE)
+                | validateField(warehousePhone, WarehouseDTOPatterns.WAREHOUSE_PHONE)
+                | validateNumericField(squareFootage, WarehouseDTOPatterns.SQUARE_FOOTAGE, 1000, 3000000)
+                | validateNumericField(loadingDocks, WarehouseDTOPatterns.LOADING_DOCKS, 1, 100);
+        return ValidationResult.of(WarehouseDTOPatterns.class, failedMask);
+    }
+
+    // the enum's compiled scanner accepts the same inputs as its regex without allocating a Matcher
+    private static int validateField(final String value, final WarehouseDTOPatterns pattern) {
+        return pattern.matches(value) ? 0 : ValidationResult.bit(pattern);
+    }
+
+    private static int validateField(final String value, final EmployeeDTOPatterns pattern) {
+        return pattern.matches(value) ? 0 : ValidationResult.bit(pattern);
+    }
+
+    private static int validateNumericField(final int value, final WarehouseDTOPatterns pattern, final int min, final int max) {
+        return value < min || value > max ? ValidationResult.bit(pattern) : 0;
     }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.training.callum.whoms.service;
+
+/**
+ * Thrown when a client sends a request parameter the service cannot act on, such as a malformed or stale page
+ * cursor, an out-of-range page size, an unknown lookup type or a search key that is not a valid name,
+ * postal code or phone number. It is the client's mistake rather than a fault of the service, so it is
+ * answered with 400 and logged without a stack trace.
+ *
+ * Other IllegalArgumentExceptions are left to signal programming errors and are answered with 500.
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+    public InvalidRequestException(final String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,292 @@
+package com.training.callum.whoms.service;
+
+import com.training.callum.whoms.config.InputProperties;
+import com.training.callum.whoms.domain.WarehouseCacheDelta;
+import com.training.callum.whoms.domain.WarehouseCursor;
+import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.domain.WarehouseLookupKeys;
+import com.training.callum.whoms.domain.WarehousePage;
+import com.training.callum.whoms.domain.WarehouseQuery;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Immutable view of the warehouse cache at a point in time.
+ *
+ * A snapshot is built once per load and never mutated afterwards, so it can be shared by any
+ * number of readers without copying. Reloads publish a new snapshot instead of editing this one.
+ * The secondary indexes are built together with the list and published with it, so a reader
+ * always sees indexes that match the warehouses they point into.
+ */
+final class WarehouseCacheSnapshot {
+
+    static final WarehouseCacheSnapshot EMPTY = new WarehouseCacheSnapshot(
+            List.of(), 0L,
+            WarehouseIndex.EMPTY, WarehouseIndex.EMPTY, WarehouseIndex.EMPTY,
+            WarehouseIndex.EMPTY, WarehouseIndex.EMPTY);
+
+    /** Identity of the most recent load, see {@link #nextLoad()}. */
+    private static final AtomicLong LAST_LOAD = new AtomicLong();
+
+    private final List<WarehouseDTO> warehouses;
+    private final long load;
+    private final WarehouseIndex byName;
+    private final WarehouseIndex byPostalCode;
+    private final WarehouseIndex byPhone;
+    private final WarehouseIndex byState;
+    private final WarehouseIndex byCity;
+
+    private WarehouseCacheSnapshot(
+            final List<WarehouseDTO> warehouses,
+            final long load,
+            final WarehouseIndex byName,
+            final WarehouseIndex byPostalCode,
+            final WarehouseIndex byPhone,
+            final WarehouseIndex byState,
+            final WarehouseIndex byCity) {
+        this.warehouses = warehouses;
+        this.load = load;
+        this.byName = byName;
+        this.byPostalCode = byPostalCode;
+        this.byPhone = byPhone;
+        this.byState = byState;
+        this.byCity = byCity;
+    }
+
+    /**
+     * Creates a heap snapshot that takes ownership of the given list and indexes it.
+     * The caller must not modify the list after handing it over.
+     *
+     * @param loaded warehouses in source order
+     * @return snapshot wrapping the list
+     */
+    static WarehouseCacheSnapshot of(final ArrayList<WarehouseDTO> loaded) {
+        return of(loaded, null, InputProperties.Store.HEAP);
+    }
+
+    /**
+     * Creates a snapshot of the given warehouses, building its indexes concurrently when a pool is given.
+     * Each index is one task; the list itself is only read.
+     *
+     * The heap store takes ownership of the list, which the caller must not modify afterwards. The columnar
+     * store copies it into a {@link ColumnarWarehouseList}, also as a task of its own, and indexes name,
+     * postal code and phone with {@link WarehouseIndex#hashed hashed} indexes so that no per-warehouse
+     * string stays on the heap; the list can be dropped once this returns.
+     *
+     * @param loaded warehouses in source order
+     * @param pool pool to build the indexes on, or null to build them on the calling thread
+     * @param store storage engine, null for the heap store
+     * @return snapshot of the warehouses
+     */
+    static WarehouseCacheSnapshot of(
+            final ArrayList<WarehouseDTO> loaded, final ForkJoinPool pool, final InputProperties.Store store) {
+        final boolean columnar = store == InputProperties.Store.COLUMNAR;
+        final Supplier<List<WarehouseDTO>> warehouses;
+        final List<WarehouseDTO> source;
+        if (columnar) {
+            source = loaded;
+            warehouses = fork(pool, () -> ColumnarWarehouseList.copyOf(loaded));
+        } else {
+            loaded.trimToSize();
+            source = Collections.unmodifiableList(loaded);
+            warehouses = () -> source;
+        }
+        final BiFunction<List<WarehouseDTO>, Function<WarehouseDTO, String>, WarehouseIndex> uniqueIndex =
+                columnar ? WarehouseIndex::hashed : WarehouseIndex::build;
+        // indexes are built from the loaded instances, which sit at the same positions as in the snapshot list
+        final Supplier<WarehouseIndex> byName =
+                fork(pool, () -> uniqueIndex.apply(source, dto -> WarehouseLookupKeys.name(dto.name())));
+        final Supplier<WarehouseIndex> byPostalCode =
+                fork(pool, () -> uniqueIndex.apply(source, dto -> WarehouseLookupKeys.postalCode(dto.postalCode())));
+        final Supplier<WarehouseIndex> byPhone =
+                fork(pool, () -> uniqueIndex.apply(source, dto -> WarehouseLookupKeys.phone(dto.warehousePhone())));
+        final Supplier<WarehouseIndex> byState =
+                fork(pool, () -> WarehouseIndex.build(source, dto -> WarehouseLookupKeys.state(dto.state())));
+        final Supplier<WarehouseIndex> byCity =
+                fork(pool, () -> WarehouseIndex.build(source, dto -> WarehouseLookupKeys.city(dto.city())));
+        return new WarehouseCacheSnapshot(
+                warehouses.get(),
+                nextLoad(),
+                byName.get(),
+                byPostalCode.get(),
+                byPhone.get(),
+                byState.get(),
+                byCity.get());
+    }
+
+    // runs the task right away without a pool, otherwise forks it and hands back the join
+    private static <T> Supplier<T> fork(final ForkJoinPool pool, final Supplier<T> task) {
+        if (pool == null) {
+            final T result = task.get();
+            return () -> result;
+        }
+        final ForkJoinTask<T> forked = pool.submit(task::get);
+        return forked::join;
+    }
+
+    List<WarehouseDTO> warehouses() {
+        return warehouses;
+    }
+
+    /**
+     * Identifies a load of the warehouse cache by its time in epoch nanoseconds, bumped past the previous
+     * load when the clock has not moved on, so no two loads of this process share an identity and loads of
+     * different processes almost never do.
+     *
+     * @return identity of a new load
+     */
+    static long nextLoad() {
+        final Instant now = Instant.now();
+        return LAST_LOAD.accumulateAndGet(
+                now.getEpochSecond() * 1_000_000_000L + now.getNano(), (last, current) -> Math.max(last + 1, current));
+    }
+
+    /**
+     * @return identity of the load that built this snapshot, 0 for the empty snapshot
+     */
+    long load() {
+        return load;
+    }
+
+    List<WarehouseDTO> findByName(final String name) {
+        return byName.lookUp(warehouses, WarehouseLookupKeys.name(name));
+    }
+
+    List<WarehouseDTO> findByPostalCode(final String postalCode) {
+        return byPostalCode.lookUp(warehouses, WarehouseLookupKeys.postalCode(postalCode));
+    }
+
+    List<WarehouseDTO> findByPhone(final String phone) {
+        return byPhone.lookUp(warehouses, WarehouseLookupKeys.phone(phone));
+    }
+
+    List<WarehouseDTO> findByState(final String state) {
+        return byState.lookUp(warehouses, WarehouseLookupKeys.state(state));
+    }
+
+    List<WarehouseDTO> findByCity(final String city) {
+        return byCity.lookUp(warehouses, WarehouseLookupKeys.city(city));
+    }
+
+    /**
+     * Compares freshly loaded warehouses with this snapshot by normalized name. Every loaded warehouse
+     * equal to a cached one is replaced in {@code loaded} by the cached instance, so unchanged warehouses
+     * keep their identity across reloads and the duplicates parsed from the file can be collected.
+     *
+     * @param loaded warehouses read from the source, updated in place
+     * @return counts of added, changed, removed and unchanged warehouses
+     */
+    WarehouseCacheDelta reconcile(final List<WarehouseDTO> loaded) {
+        final Set<String> loadedNames = new HashSet<>();
+        int added = 0;
+        int changed = 0;
+        int unchanged = 0;
+        for (int i = 0; i < loaded.size(); i++) {
+            final WarehouseDTO dto = loaded.get(i);
+            final String name = WarehouseLookupKeys.name(dto.name());
+            loadedNames.add(name);
+            final int[] positions = byName.positions(warehouses, name);
+            if (positions.length == 0) {
+                added++;
+                continue;
+            }
+            final WarehouseDTO cached = firstEqual(positions, dto);
+            if (cached == null) {
+                changed++;
+            } else {
+                loaded.set(i, cached);
+                unchanged++;
+            }
+        }
+
+        int removed = 0;
+        for (final WarehouseDTO cached : warehouses) {
+            final String name = WarehouseLookupKeys.name(cached.name());
+            if (name != null && !loadedNames.contains(name)) {
+                removed++;
+            }
+        }
+        return new WarehouseCacheDelta(added, changed, removed, unchanged);
+    }
+
+    private WarehouseDTO firstEqual(final int[] positions, final WarehouseDTO dto) {
+        for (final int position : positions) {
+            final WarehouseDTO cached = warehouses.get(position);
+            if (cached.equals(dto)) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Collects up to {@code limit} warehouses matching the query, starting at a snapshot position.
+     * State and city criteria are answered from their indexes so only candidate positions are
+     * scanned; the remaining criteria are evaluated per candidate.
+     *
+     * @param query filter criteria
+     * @param fromPosition first snapshot position to consider
+     * @param limit maximum number of warehouses to return
+     * @return the page, with a cursor at the position of the next match when more remain
+     */
+    WarehousePage findPage(final WarehouseQuery query, final int fromPosition, final int limit) {
+        final List<WarehouseDTO> items = new ArrayList<>(Math.min(limit, warehouses.size()));
+        final int[] candidates = candidatePositions(query);
+
+        if (candidates == null) {
+            for (int position = fromPosition; position < warehouses.size(); position++) {
+                final WarehouseDTO dto = warehouses.get(position);
+                if (query.matches(dto)) {
+                    if (items.size() == limit) {
+                        return new WarehousePage(items, Optional.of(WarehouseCursor.atPosition(load, position)));
+                    }
+                    items.add(dto);
+                }
+            }
+        } else {
+            final int start = Arrays.binarySearch(candidates, fromPosition);
+            for (int i = start < 0 ? -start - 1 : start; i < candidates.length; i++) {
+                final WarehouseDTO dto = warehouses.get(candidates[i]);
+                if (query.matches(dto)) {
+                    if (items.size() == limit) {
+                        return new WarehousePage(items, Optional.of(WarehouseCursor.atPosition(load, candidates[i])));
+                    }
+                    items.add(dto);
+                }
+            }
+        }
+        return new WarehousePage(items, Optional.empty());
+    }
+
+    /**
+     * Picks the smallest index-backed candidate set for a query.
+     *
+     * @param query filter criteria
+     * @return ascending snapshot positions to scan, or null when every position must be scanned
+     */
+    private int[] candidatePositions(final WarehouseQuery query) {
+        int[] candidates = null;
+        if (query.state() != null) {
+            candidates = byState.positions(warehouses, WarehouseLookupKeys.state(query.state()));
+        }
+        if (query.city() != null) {
+            final int[] cityPositions = byCity.positions(warehouses, WarehouseLookupKeys.city(query.city()));
+            if (candidates == null || cityPositions.length < candidates.length) {
+                candidates = cityPositions;
+            }
+        }
+        return candidates;
+    }
+}
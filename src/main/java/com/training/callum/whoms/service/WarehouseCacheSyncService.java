@@ -0,0 +1,222 @@
+package com.training.callum.whoms.service;
+
+import com.training.callum.whoms.config.IngestProperties;
+import com.training.callum.whoms.domain.BulkPersistResult;
+import com.training.callum.whoms.domain.ValidationResult;
+import com.training.callum.whoms.domain.ValidationSummary;
+import com.training.callum.whoms.domain.Warehouse;
+import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.domain.WarehouseDTOPatterns;
+import com.training.callum.whoms.domain.WarehouseLookupKeys;
+import com.training.callum.whoms.domain.WarehouseRow;
+import com.training.callum.whoms.domain.WarehouseSyncResult;
+import com.training.callum.whoms.repository.WarehouseJpaRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service that synchronizes the warehouses held by {@link WarehouseDTOCacheService} into the database.
+ *
+ * Persisted rows are read once as projections and matched to cached warehouses by case-insensitive name.
+ * Only warehouses without a row are inserted and only rows whose fields differ are updated, both in
+ * chunks of the ingest chunk size, so re-synchronizing an unchanged feed costs a single read.
+ * Rows without a cached counterpart are left alone; they may have been added through the API.
+ * Cached warehouses that fail validation are skipped before either path, so neither an insert nor
+ * an update writes data the single-warehouse API would reject.
+ * Loads are synchronized as they complete, on the loading thread and before the load is reported finished:
+ * the first one with ingest.sync-on-startup, every one with ingest.sync-on-load. The bounded store holds no
+ * complete list, so these are the only ways its file reaches the database; synchronizing the cache itself
+ * has nothing to do there.
+ */
+@Service
+public class WarehouseCacheSyncService implements ApplicationListener<WarehouseFileLoadedEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(WarehouseCacheSyncService.class);
+
+    private final WarehouseDTOCacheService cacheService;
+    private final WarehouseManagerService managerService;
+    private final ExtDataValidationService validationService;
+    private final WarehouseJpaRepository repository;
+    private final IngestProperties ingestProperties;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate chunkTransaction;
+    private final WarehouseLookupCache lookupCache;
+
+    public WarehouseCacheSyncService(
+            final WarehouseDTOCacheService cacheService,
+            final WarehouseManagerService managerService,
+            final ExtDataValidationService validationService,
+            final WarehouseJpaRepository repository,
+            final IngestProperties ingestProperties,
+            final PlatformTransactionManager transactionManager,
+            final WarehouseLookupCache lookupCache) {
+        this.cacheService = cacheService;
+        this.lookupCache = lookupCache;
+        this.managerService = managerService;
+        this.validationService = validationService;
+        this.repository = repository;
+        this.ingestProperties = ingestProperties;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Writes a loaded warehouse file through to the database: the first load when enabled by
+     * ingest.sync-on-startup, every load when enabled by ingest.sync-on-load. In the bounded store, where
+     * the loaded warehouses are dropped afterwards, a load that is not written is logged, since lookups
+     * then never see it. A failed load publishes nothing, so nothing is synchronized.
+     *
+     * @param event the completed load
+     */
+    @Override
+    public void onApplicationEvent(final WarehouseFileLoadedEvent event) {
+        final String loaded = event.isReload() ? "reloaded" : "loaded";
+        if (ingestProperties.syncOnLoad() || (ingestProperties.syncOnStartup() && !event.isReload())) {
+            log.info("Writing {} warehouses {} from {} through to the database",
+                    event.getWarehouses().size(), loaded, event.getLocation());
+            synchronize(event.getWarehouses());
+        } else if (cacheService.isBounded()) {
+            log.warn("Bounded warehouse cache dropped {} warehouses {} from {} without writing them to the database;"
+                    + " enable ingest.sync-on-load to serve them", event.getWarehouses().size(), loaded,
+                    event.getLocation());
+        }
+    }
+
+    /**
+     * Inserts cached warehouses missing from the database and updates rows that differ from the cache.
+     *
+     * @return counts of inserted, updated, unchanged, skipped and failed warehouses
+     */
+    public WarehouseSyncResult synchronize() {
+        return synchronize(cacheService.getWarehouses());
+    }
+
+    /**
+     * Inserts the given warehouses where missing from the database and updates rows that differ from them.
+     *
+     * @param cached warehouses to synchronize, matched to rows by case-insensitive name
+     * @return counts of inserted, updated, unchanged, skipped and failed warehouses
+     */
+    public WarehouseSyncResult synchronize(final List<WarehouseDTO> cached) {
+        final Map<String, WarehouseRow> persisted = readPersistedRows();
+
+        final List<WarehouseDTO> inserts = new ArrayList<>();
+        final Map<UUID, WarehouseDTO> updates = new HashMap<>();
+        final Set<String> seenKeys = new HashSet<>();
+        final ValidationSummary.Accumulator<WarehouseDTOPatterns> validation =
+                new ValidationSummary.Accumulator<>(WarehouseDTOPatterns.class);
+        int unchanged = 0;
+        int skipped = 0;
+        for (final WarehouseDTO dto : cached) {
+            final ValidationResult<WarehouseDTOPatterns> validity = validationService.validate(dto);
+            validation.add(validity);
+            if (!validity.isValid()) {
+                skipped++;
+                continue;
+            }
+            final String key = WarehouseLookupKeys.name(dto.name());
+            if (!seenKeys.add(key)) {
+                skipped++;
+                continue;
+            }
+            final WarehouseRow row = persisted.get(key);
+            if (row == null) {
+                inserts.add(dto);
+            } else if (row.toDTO().equals(dto)) {
+                unchanged++;
+            } else {
+                updates.put(row.id(), dto);
+            }
+        }
+
+        int failed = 0;
+        int inserted = 0;
+        if (!inserts.isEmpty()) {
+            final BulkPersistResult insertResult = managerService.persistWarehouseDTOs(inserts);
+            inserted = insertResult.persisted();
+            skipped += insertResult.skipped();
+            failed += (int) insertResult.failedRecords();
+        }
+        final int updated = applyUpdates(updates);
+        failed += updates.size() - updated;
+
+        final ValidationSummary<WarehouseDTOPatterns> summary = validation.toSummary();
+        if (!summary.isValid()) {
+            log.warn("{} of {} cached warehouses failed validation and were skipped: {}",
+                    summary.invalid(), summary.validated(), summary.describeFailures());
+        }
+        final WarehouseSyncResult result = new WarehouseSyncResult(inserted, updated, unchanged, skipped, failed);
+        log.info("Synchronized {} cached warehouses into the database: {}", cached.size(), result);
+        return result;
+    }
+
+    /**
+     * Reads every persisted warehouse keyed by normalized name. When several rows share a name the
+     * first one read is used.
+     */
+    private Map<String, WarehouseRow> readPersistedRows() {
+        return readTransaction.execute(status -> {
+            final Map<String, WarehouseRow> rows = new HashMap<>();
+            try (Stream<WarehouseRow> stream = repository.streamAllRows()) {
+                stream.forEach(row -> rows.putIfAbsent(WarehouseLookupKeys.name(row.name()), row));
+            }
+            return rows;
+        });
+    }
+
+    /**
+     * Applies updates in chunks; each chunk loads its entities with one query, copies the cached fields
+     * onto them and lets the flush issue batched updates on commit.
+     *
+     * @return number of rows updated
+     */
+    private int applyUpdates(final Map<UUID, WarehouseDTO> updates) {
+        final List<UUID> ids = new ArrayList<>(updates.keySet());
+        final int chunkSize = ingestProperties.chunkSize();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            final List<UUID> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            try {
+                updated += chunkTransaction.execute(status -> {
+                    final List<Warehouse> entities = repository.findAllById(chunk);
+                    entities.forEach(entity -> {
+                        // evict the lookups of both the old and the new values, applied on commit
+                        lookupCache.evict(entity);
+                        copyFields(updates.get(entity.getId()), entity);
+                        lookupCache.evict(entity);
+                    });
+                    return entities.size();
+                });
+            } catch (RuntimeException ex) {
+                log.error("Failed to update warehouse chunk starting at {} of {}", from, ids.size(), ex);
+            }
+        }
+        return updated;
+    }
+
+    private static void copyFields(final WarehouseDTO dto, final Warehouse entity) {
+        entity.setName(dto.name());
+        entity.setAddress(dto.address());
+        entity.setCity(dto.city());
+        entity.setState(dto.state());
+        entity.setPostalCode(dto.postalCode());
+        entity.setWarehousePhone(dto.warehousePhone());
+        entity.setSquareFootage(dto.squareFootage());
+        entity.setLoadingDocks(dto.loadingDocks());
+    }
+}
@@ -0,0 +1,13 @@
+package com.training.callum.whoms.service;
+
+/**
+ * Thrown when a request needs the warehouse cache before it has been loaded, either because the
+ * background warm-up is still running or because it failed. The condition is temporary from the
+ * client's point of view, so it is answered with a retryable 503.
+ */
+public class WarehouseCacheUnavailableException extends RuntimeException {
+
+    public WarehouseCacheUnavailableException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,140 @@
+package com.training.callum.whoms.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the warehouse cache in the background while the rest of the application starts.
+ *
+ * The load starts as soon as this bean is created, on a single daemon thread, so the context, the
+ * database and the web server come up in parallel with parsing the warehouse file instead of after it.
+ * As a health indicator this bean reports OUT_OF_SERVICE until the load finishes, UP once the cache
+ * is loaded and DOWN when the load failed; it is part of the readiness group, so no traffic is routed
+ * to an instance that would answer from an empty cache. Cache-backed requests that still arrive are
+ * refused with a {@link WarehouseCacheUnavailableException}.
+ *
+ * The load starts while the context is still being built, so the listeners of its
+ * {@link WarehouseFileLoadedEvent} are created first.
+ *
+ * Once the warehouses are loaded, the same thread loads the employee file through
+ * {@link EmployeeCacheService}. Nothing is served from the employees yet, so readiness does not wait
+ * for them.
+ */
+@Component
+@DependsOn("warehouseCacheSyncService")
+public class WarehouseCacheWarmUp implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(WarehouseCacheWarmUp.class);
+
+    private final WarehouseDTOCacheService cacheService;
+    private final EmployeeCacheService employeeCacheService;
+    private final CompletableFuture<Void> finished = new CompletableFuture<>();
+    private ExecutorService executor;
+
+    public WarehouseCacheWarmUp(
+            final WarehouseDTOCacheService cacheService, final EmployeeCacheService employeeCacheService) {
+        this.cacheService = cacheService;
+        this.employeeCacheService = employeeCacheService;
+    }
+
+    /**
+     * Starts loading the caches on a background thread and returns immediately.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "warehouse-cache-warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::warmUp);
+    }
+
+    /**
+     * Abandons a load still running at shutdown.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Runs an action once the warm-up has loaded the cache: right away on the calling thread when it
+     * already has, otherwise on the warm-up thread when it does. The action does not run when the
+     * warm-up fails; exceptions it throws are logged.
+     *
+     * @param action work that needs the loaded cache
+     */
+    public void whenLoaded(final Runnable action) {
+        whenFinished(() -> {
+            if (!cacheService.isLoaded()) {
+                log.warn("Warehouse cache failed to load, skipping work that depends on it");
+                return;
+            }
+            action.run();
+        });
+    }
+
+    /**
+     * Runs an action once the warm-up has finished, whether or not it loaded the cache, on the same
+     * threads as {@link #whenLoaded(Runnable)}; exceptions it throws are logged.
+     *
+     * @param action work to run after the warm-up
+     */
+    public void whenFinished(final Runnable action) {
+        finished.thenRun(() -> {
+            try {
+                action.run();
+            } catch (final RuntimeException e) {
+                log.error("Work waiting for the warehouse cache failed", e);
+            }
+        });
+    }
+
+    @Override
+    public Health health() {
+        if (!finished.isDone()) {
+            return Health.outOfService().withDetail("warmUp", "loading").build();
+        }
+        if (!cacheService.isLoaded()) {
+            return Health.down().withDetail("warmUp", "failed").build();
+        }
+        return Health.up()
+                .withDetail("warmUp", "loaded")
+                .withDetail("warehouses", cacheService.size())
+                .build();
+    }
+
+    private void warmUp() {
+        final long started = System.nanoTime();
+        try {
+            cacheService.loadWarehouseDtos();
+        } catch (final RuntimeException e) {
+            log.error("Warehouse cache warm-up failed", e);
+        } finally {
+            log.info("Warehouse cache warm-up {} after {} ms", cacheService.isLoaded() ? "finished" : "failed",
+                    (System.nanoTime() - started) / 1_000_000);
+            finished.complete(null);
+        }
+        try {
+            employeeCacheService.loadEmployees();
+        } catch (final RuntimeException e) {
+            log.error("Employee cache warm-up failed", e);
+        }
+    }
+}
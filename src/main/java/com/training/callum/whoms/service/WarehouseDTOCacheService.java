@@ -1,16 +1,31 @@
 package com.training.callum.whoms.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.training.callum.whoms.config.InputProperties;
+import com.training.callum.whoms.domain.ValidationSummary;
+import com.training.callum.whoms.domain.WarehouseCacheDelta;
+import com.training.callum.whoms.domain.WarehouseCursor;
 import com.training.callum.whoms.domain.WarehouseDTO;
-import jakarta.annotation.PostConstruct;
+import com.training.callum.whoms.domain.WarehouseDTOPatterns;
+import com.training.callum.whoms.domain.WarehouseLoadStatistics;
+import com.training.callum.whoms.domain.WarehousePage;
+import com.training.callum.whoms.domain.WarehouseQuery;
+import com.training.callum.whoms.domain.WarehouseRow;
+import com.training.callum.whoms.repository.WarehouseJpaRepository;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
@@ -18,65 +33,514 @@ import org.springframework.stereotype.Service;
 /**
  * Service for caching WarehouseDTO objects loaded from external JSON files.
  * Validates and stores warehouse data for efficient access.
+ *
+ * The cache is held as an immutable {@link WarehouseCacheSnapshot} published through a volatile
+ * field: loads build a complete snapshot off to the side and swap it in with a single write, so
+ * readers never block, never see a partially loaded cache and never pay for a copy.
+ * Each snapshot carries hash indexes on name, postal code, phone, state and city that serve
+ * key lookups in memory. {@link #reloadWarehouseDtos()} applies a changed file the same way, as a
+ * delta against the current snapshot. {@code input.file.store} selects how a snapshot holds its
+ * warehouses, see {@link InputProperties.Store}.
+ *
+ * Every load publishes a {@link WarehouseFileLoadedEvent} with the warehouses it read. With the
+ * {@code bounded} store the database is the system of record instead and a load keeps nothing of the file
+ * once that event has been handled; {@link WarehouseCacheSyncService} writes it through to the database when
+ * {@code ingest.sync-on-load} is enabled. Lookups by name, postal code and phone then go to the repository
+ * lookup caches, which hold at most {@code input.file.max-count} warehouses each, are evicted on every write
+ * and read through to the database on a miss. Pages, state and city lookups and the export match too many
+ * warehouses to cache and are answered by the database.
  */
 @Service
 public final class WarehouseDTOCacheService {
 
     private static final Logger log = LoggerFactory.getLogger(WarehouseDTOCacheService.class);
 
+    /** Number of records between heap usage samples while loading. */
+    private static final int HEAP_SAMPLE_INTERVAL = 1024;
+
+    /** Number of parsed records validated together as one task. */
+    private static final int VALIDATION_BATCH_SIZE = 4096;
+
     private final InputProperties inputProperties;
     private final ResourceLoader resourceLoader;
     private final ObjectMapper objectMapper;
     private final ExtDataValidationService validationService;
-    private final List<WarehouseDTO> warehouses = new ArrayList<>();
+    private final WarehouseMetrics metrics;
+    private final WarehouseJpaRepository repository;
+    private final WarehouseLookupCache lookupCache;
+    private final ApplicationEventPublisher events;
+    /** Whether the database holds the warehouses and only the repository lookup caches are kept. */
+    private final boolean bounded;
+    private final Object loadLock = new Object();
+    private volatile WarehouseCacheSnapshot snapshot = WarehouseCacheSnapshot.EMPTY;
+    private volatile WarehouseLoadStatistics lastLoadStatistics = WarehouseLoadStatistics.EMPTY;
+    /** Identity of the last bounded load, which keeps no snapshot to carry it. */
+    private volatile long boundedLoad;
+    /** System.nanoTime() of the last load that published or confirmed the snapshot, 0 before the first. */
+    private volatile long snapshotConfirmedAt;
 
     public WarehouseDTOCacheService(
             final InputProperties inputProperties,
             final ResourceLoader resourceLoader,
             final ObjectMapper objectMapper,
-            final ExtDataValidationService validationService) {
+            final ExtDataValidationService validationService,
+            final WarehouseMetrics metrics,
+            final WarehouseJpaRepository repository,
+            final WarehouseLookupCache lookupCache,
+            final ApplicationEventPublisher events) {
         this.inputProperties = inputProperties;
         this.resourceLoader = resourceLoader;
         this.objectMapper = objectMapper;
         this.validationService = validationService;
+        this.metrics = metrics;
+        this.repository = repository;
+        this.lookupCache = lookupCache;
+        this.events = events;
+        this.bounded = inputProperties.file().store() == InputProperties.Store.BOUNDED;
+        metrics.registerCache(this, WarehouseDTOCacheService::residentWarehouses, WarehouseDTOCacheService::snapshotAgeNanos);
     }
 
     /**
      * Loads warehouse DTOs from the configured file path.
-     * Validates each warehouse and caches valid ones.
+     * The file is read as a token stream so only one record is materialized at a time. Parsed
+     * warehouses are grouped into batches that are validated while parsing continues: on the calling
+     * thread by default, or on a fork-join pool of {@code input.file.parallelism} workers, which then
+     * also builds the lookup indexes concurrently. Batches are joined in file order, so the cache
+     * keeps source order either way. Validation failures are counted per field and reported in a
+     * single summary line once the file has been read.
+     *
+     * When {@code input.file.snapshot} is set, the validated cache is saved to that file after the load,
+     * and a later start restores it from there through a memory mapping instead of parsing the file,
+     * as long as the warehouse file is byte-for-byte unchanged. In bounded mode the warehouses are only
+     * handed to the listeners of {@link WarehouseFileLoadedEvent}, and no snapshot is kept.
+     *
+     * Runs on the calling thread; at startup {@link WarehouseCacheWarmUp} calls it in the background.
      */
-    @PostConstruct
     public void loadWarehouseDtos() {
-        final String warehousePath = inputProperties.file().warehouses();
-        log.debug("Loading warehouses from path: {}", warehousePath);
+        loadAndPublish(false);
+    }
+
+    /**
+     * Re-reads the configured file and applies it as a delta against the current snapshot.
+     *
+     * The file is parsed and indexed off to the side exactly as in {@link #loadWarehouseDtos()}, then
+     * compared with the current snapshot by warehouse name: warehouses that did not change keep their
+     * cached instance, and a new snapshot is swapped in with a single volatile write only when something
+     * changed. Readers keep using the previous snapshot until the swap and never block. If the file
+     * cannot be read the current snapshot stays in place. In bounded mode nothing is cached to compare
+     * with, so the delta is empty, and the listeners of {@link WarehouseFileLoadedEvent} report what they
+     * did with the file.
+     *
+     * @return the changes found, or empty when the file could not be read
+     */
+    public Optional<WarehouseCacheDelta> reloadWarehouseDtos() {
+        return loadAndPublish(true);
+    }
+
+    // loads are serialized against each other; readers only ever touch the volatile snapshot
+    private Optional<WarehouseCacheDelta> loadAndPublish(final boolean incremental) {
+        synchronized (loadLock) {
+            final String warehousePath = inputProperties.file().warehouses();
+            log.debug("Loading warehouses from path: {}", warehousePath);
 
-        final Resource resource = resourceLoader.getResource(warehousePath);
-        if (!resource.exists()) {
-            log.error("Warehouse file not found at path: {}", warehousePath);
-            return;
+            final Resource resource = resourceLoader.getResource(warehousePath);
+            if (!resource.exists()) {
+                log.error("Warehouse file not found at path: {}", warehousePath);
+                metrics.recordLoadFailure(incremental, 0L);
+                return Optional.empty();
+            }
+
+            final Path snapshotFile = snapshotFile();
+            final int parallelism = inputProperties.file().parallelism();
+            final ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+            try {
+                if (!incremental && snapshotFile != null && restoreSnapshot(resource, snapshotFile, pool)) {
+                    return Optional.empty();
+                }
+                return readWarehouseFile(resource, warehousePath, pool, incremental, snapshotFile);
+            } finally {
+                if (pool != null) {
+                    pool.shutdown();
+                }
+            }
         }
+    }
 
-        try (final InputStream inputStream = resource.getInputStream()) {
-            final List<WarehouseDTO> loadedWarehouses = objectMapper.readValue(
-                    inputStream, new TypeReference<List<WarehouseDTO>>() {});
+    private Optional<WarehouseCacheDelta> readWarehouseFile(
+            final Resource resource, final String warehousePath, final ForkJoinPool pool, final boolean incremental,
+            final Path snapshotFile) {
+        final ObjectReader warehouseReader = objectMapper.readerFor(WarehouseDTO.class);
+        final Runtime runtime = Runtime.getRuntime();
+        final long started = System.nanoTime();
+        long peakHeap = runtime.totalMemory() - runtime.freeMemory();
 
-            for (final WarehouseDTO warehouse : loadedWarehouses) {
-                validationService.validate(warehouse);
-                warehouses.add(warehouse);
+        try (final WarehouseSnapshotFile.FingerprintingInputStream inputStream =
+                        new WarehouseSnapshotFile.FingerprintingInputStream(resource.getInputStream());
+                final JsonParser parser = objectMapper.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                log.error("Warehouse file at path: {} does not contain a JSON array", warehousePath);
+                metrics.recordLoadFailure(incremental, System.nanoTime() - started);
+                return Optional.empty();
             }
 
-            log.debug("Successfully loaded {} warehouses", warehouses.size());
+            final List<List<WarehouseDTO>> batches = new ArrayList<>();
+            final List<ForkJoinTask<ValidationSummary.Accumulator<WarehouseDTOPatterns>>> validations =
+                    new ArrayList<>();
+            List<WarehouseDTO> batch = new ArrayList<>(VALIDATION_BATCH_SIZE);
+            int records = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                batch.add(warehouseReader.readValue(parser));
+                records++;
+                if (batch.size() == VALIDATION_BATCH_SIZE) {
+                    validations.add(validateBatch(batch, pool));
+                    batches.add(batch);
+                    batch = new ArrayList<>(VALIDATION_BATCH_SIZE);
+                }
+                if (records % HEAP_SAMPLE_INTERVAL == 0) {
+                    peakHeap = Math.max(peakHeap, runtime.totalMemory() - runtime.freeMemory());
+                }
+            }
+            if (!batch.isEmpty()) {
+                validations.add(validateBatch(batch, pool));
+                batches.add(batch);
+            }
+
+            // join in submission order so the cache keeps file order
+            final ArrayList<WarehouseDTO> loadedWarehouses = new ArrayList<>(records);
+            final ValidationSummary.Accumulator<WarehouseDTOPatterns> validation =
+                    new ValidationSummary.Accumulator<>(WarehouseDTOPatterns.class);
+            for (int i = 0; i < batches.size(); i++) {
+                validation.merge(validations.get(i).join());
+                loadedWarehouses.addAll(batches.get(i));
+            }
+            peakHeap = Math.max(peakHeap, runtime.totalMemory() - runtime.freeMemory());
+            final WarehouseCacheDelta delta;
+            if (bounded) {
+                // nothing is cached to reconcile the file against
+                delta = incremental ? new WarehouseCacheDelta(0, 0, 0, 0) : null;
+                boundedLoad = WarehouseCacheSnapshot.nextLoad();
+            } else {
+                delta = publish(loadedWarehouses, pool, incremental);
+            }
+
+            final ValidationSummary<WarehouseDTOPatterns> summary = validation.toSummary();
+            metrics.recordValidation("file", summary);
+            if (!summary.isValid()) {
+                log.warn("{} of {} warehouses from {} failed validation: {}",
+                        summary.invalid(), summary.validated(), warehousePath, summary.describeFailures());
+            }
+
+            final WarehouseLoadStatistics statistics = new WarehouseLoadStatistics(
+                    loadedWarehouses.size(), System.nanoTime() - started, peakHeap);
+            lastLoadStatistics = statistics;
+            snapshotConfirmedAt = System.nanoTime();
+            metrics.recordLoad(incremental, statistics.elapsedNanos(), statistics.records());
+            log.info("Loaded {} warehouses from {} at {} records/s, peak heap {} KiB{}",
+                    statistics.records(),
+                    warehousePath,
+                    String.format("%.1f", statistics.recordsPerSecond()),
+                    statistics.peakHeapBytes() / 1024,
+                    pool == null ? "" : " using " + pool.getParallelism() + " workers");
+            if (delta != null && !bounded) {
+                log.info("Reloaded warehouses from {}: {} added, {} changed, {} removed, {} unchanged",
+                        warehousePath, delta.added(), delta.changed(), delta.removed(), delta.unchanged());
+            }
+            if (snapshotFile != null) {
+                saveSnapshot(snapshotFile, inputStream.finish(), summary);
+            }
+            events.publishEvent(new WarehouseFileLoadedEvent(
+                    this, warehousePath, Collections.unmodifiableList(loadedWarehouses), incremental));
+            return Optional.ofNullable(delta);
         } catch (final IOException e) {
             log.error("Failed to load warehouses from path: {}", warehousePath, e);
+            metrics.recordLoadFailure(incremental, System.nanoTime() - started);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Publishes the warehouses of a snapshot file written from the current warehouse file, skipping
+     * parsing and validation.
+     *
+     * @return whether a snapshot was restored; false when there is none or it does not match the file
+     */
+    private boolean restoreSnapshot(final Resource resource, final Path snapshotFile, final ForkJoinPool pool) {
+        final long started = System.nanoTime();
+        final Optional<WarehouseSnapshotFile.Restored> restored;
+        try {
+            restored = WarehouseSnapshotFile.read(snapshotFile, WarehouseSnapshotFile.SourceFingerprint.of(resource));
+        } catch (final IOException e) {
+            log.warn("Cannot fingerprint warehouse file, not restoring snapshot {}", snapshotFile, e);
+            return false;
+        }
+        if (restored.isEmpty()) {
+            return false;
+        }
+        snapshot = WarehouseCacheSnapshot.of(restored.get().warehouses(), pool, inputProperties.file().store());
+        // the snapshot carries the summary of the validation it skips, so restarts keep counting failures
+        final ValidationSummary<WarehouseDTOPatterns> summary = restored.get().validation();
+        metrics.recordValidation("file", summary);
+        if (!summary.isValid()) {
+            log.warn("{} of {} warehouses restored from {} failed validation: {}",
+                    summary.invalid(), summary.validated(), snapshotFile, summary.describeFailures());
+        }
+        final Runtime runtime = Runtime.getRuntime();
+        final WarehouseLoadStatistics statistics = new WarehouseLoadStatistics(
+                restored.get().warehouses().size(), System.nanoTime() - started,
+                runtime.totalMemory() - runtime.freeMemory());
+        lastLoadStatistics = statistics;
+        snapshotConfirmedAt = System.nanoTime();
+        metrics.recordLoad(false, statistics.elapsedNanos(), statistics.records());
+        log.info("Restored {} warehouses from snapshot {} in {} ms",
+                statistics.records(), snapshotFile, statistics.elapsedNanos() / 1_000_000);
+        events.publishEvent(new WarehouseFileLoadedEvent(
+                this, inputProperties.file().warehouses(), snapshot.warehouses(), false));
+        return true;
+    }
+
+    // a failed save only costs the next start a full parse, so it is logged rather than failing the load
+    private void saveSnapshot(final Path snapshotFile, final WarehouseSnapshotFile.SourceFingerprint source,
+                              final ValidationSummary<WarehouseDTOPatterns> validation) {
+        try {
+            if (WarehouseSnapshotFile.write(snapshotFile, source, validation, snapshot.warehouses())) {
+                log.debug("Saved warehouse snapshot {}", snapshotFile);
+            } else {
+                log.info("Not saving warehouse snapshot {}, the warehouses are too large to map as one file",
+                        snapshotFile);
+            }
+        } catch (final IOException e) {
+            log.warn("Cannot save warehouse snapshot {}", snapshotFile, e);
+        }
+    }
+
+    // a bounded cache has no complete list to save or restore
+    private Path snapshotFile() {
+        final String configured = inputProperties.file().snapshot();
+        return bounded || configured == null || configured.isBlank() ? null : Path.of(configured);
+    }
+
+    /**
+     * Publishes loaded warehouses. A full load always replaces the snapshot; an incremental load first
+     * reconciles against the current snapshot and skips the swap when nothing changed.
+     *
+     * @return the delta of an incremental load, null for a full load
+     */
+    private WarehouseCacheDelta publish(
+            final ArrayList<WarehouseDTO> loadedWarehouses, final ForkJoinPool pool, final boolean incremental) {
+        if (!incremental) {
+            snapshot = WarehouseCacheSnapshot.of(loadedWarehouses, pool, inputProperties.file().store());
+            return null;
+        }
+        final WarehouseCacheSnapshot current = snapshot;
+        final WarehouseCacheDelta delta = current.reconcile(loadedWarehouses);
+        // equal counts can still hide a reordering, which changes paging positions
+        if (delta.hasChanges() || !current.warehouses().equals(loadedWarehouses)) {
+            snapshot = WarehouseCacheSnapshot.of(loadedWarehouses, pool, inputProperties.file().store());
+        }
+        return delta;
+    }
+
+    /**
+     * Validates one batch, on the calling thread when there is no pool, otherwise as a task on the pool.
+     * The batch must not be modified afterwards.
+     */
+    private ForkJoinTask<ValidationSummary.Accumulator<WarehouseDTOPatterns>> validateBatch(
+            final List<WarehouseDTO> batch, final ForkJoinPool pool) {
+        final ForkJoinTask<ValidationSummary.Accumulator<WarehouseDTOPatterns>> task = ForkJoinTask.adapt(() -> {
+            final ValidationSummary.Accumulator<WarehouseDTOPatterns> accumulator =
+                    new ValidationSummary.Accumulator<>(WarehouseDTOPatterns.class);
+            for (final WarehouseDTO warehouse : batch) {
+                accumulator.add(validationService.validate(warehouse));
+            }
+            return accumulator;
+        });
+        if (pool == null) {
+            task.invoke();
+        } else {
+            pool.execute(task);
+        }
+        return task;
+    }
+
+    /**
+     * @return whether a load has published the cache; false while the first load runs or after it failed
+     */
+    public boolean isLoaded() {
+        return snapshotConfirmedAt != 0L;
+    }
+
+    /**
+     * Fails unless the cache has been loaded, so that callers can turn clients away with a retryable
+     * error instead of answering from an empty cache.
+     *
+     * @throws WarehouseCacheUnavailableException when the cache has not been loaded
+     */
+    public void requireLoaded() {
+        if (!isLoaded()) {
+            throw new WarehouseCacheUnavailableException("Warehouse cache is not loaded yet");
         }
     }
 
     /**
-     * Returns a copy of the cached warehouse list.
+     * @return whether the cache runs in bounded mode, where the database holds the complete list
+     */
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * @return number of warehouses served: those in the snapshot, or in bounded mode those the last load
+     *         read from the file
+     */
+    public int size() {
+        return bounded ? lastLoadStatistics.records() : snapshot.warehouses().size();
+    }
+
+    /**
+     * Returns the cached warehouse list from the current snapshot.
+     * The list is unmodifiable and shared between callers; it is never copied. In bounded mode no
+     * complete list is held and the list is empty.
      *
      * @return list of cached WarehouseDTO objects
      */
     public List<WarehouseDTO> getWarehouses() {
-        return new ArrayList<>(warehouses);
+        return snapshot.warehouses();
+    }
+
+    /**
+     * Returns one bounded page of cached warehouses matching the query.
+     * The page hands back a cursor to the next match, which the caller passes back as {@code from} to
+     * continue. Cursors carry the identity of the load that cut the page and the key to resume at: the
+     * cache position of the next match, so a page never costs more than the warehouses it has to skip
+     * over to fill itself, or in bounded mode the id of the last warehouse returned. A cursor from an
+     * earlier load is rejected, since its key may point anywhere in the reloaded warehouses.
+     *
+     * @param query filter criteria
+     * @param from cursor of the previous page, null for the first page
+     * @param limit maximum number of warehouses in the page, must be positive
+     * @return the page of matching warehouses
+     * @throws InvalidRequestException when the cursor is from an earlier load
+     * @throws WarehouseCacheUnavailableException when the cache has not been loaded
+     */
+    public WarehousePage findPage(final WarehouseQuery query, final WarehouseCursor from, final int limit) {
+        requireLoaded();
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive: " + limit);
+        }
+        if (!bounded) {
+            // one read, so the cursor is checked against the snapshot it then pages through
+            final WarehouseCacheSnapshot current = snapshot;
+            if (from == null) {
+                return current.findPage(query, 0, limit);
+            }
+            requireCurrent(from, current.load(), false);
+            return current.findPage(query, from.position(), limit);
+        }
+        final long load = boundedLoad;
+        if (from != null) {
+            requireCurrent(from, load, true);
+        }
+        // one extra row tells whether another page follows
+        final List<WarehouseRow> rows = repository.findRowPage(query, from == null ? null : from.lastId(), limit + 1);
+        final List<WarehouseRow> page = rows.subList(0, Math.min(limit, rows.size()));
+        final List<WarehouseDTO> items = page.stream().map(WarehouseRow::toDTO).toList();
+        if (rows.size() <= limit) {
+            return new WarehousePage(items, Optional.empty());
+        }
+        return new WarehousePage(items, Optional.of(WarehouseCursor.afterId(load, page.get(limit - 1).id())));
+    }
+
+    private static void requireCurrent(final WarehouseCursor cursor, final long load, final boolean keyedById) {
+        if (cursor.load() != load) {
+            throw new InvalidRequestException("Cursor is from an earlier load of the warehouse cache, start again without it");
+        }
+        if ((cursor.lastId() != null) != keyedById) {
+            throw new InvalidRequestException("Cursor does not match the warehouse cache store");
+        }
+    }
+
+    /**
+     * Finds cached warehouses by name, ignoring case.
+     *
+     * @param name warehouse name
+     * @return matching warehouses in load order, empty when none match
+     */
+    public List<WarehouseDTO> findByName(final String name) {
+        if (bounded) {
+            return repository.findDTOsByName(name);
+        }
+        return snapshot.findByName(name);
+    }
+
+    /**
+     * Finds cached warehouses by postal code.
+     *
+     * @param postalCode postal code
+     * @return matching warehouses in load order, empty when none match
+     */
+    public List<WarehouseDTO> findByPostalCode(final String postalCode) {
+        if (bounded) {
+            return repository.findDTOsByPostalCode(postalCode);
+        }
+        return snapshot.findByPostalCode(postalCode);
+    }
+
+    /**
+     * Finds cached warehouses by phone number, ignoring formatting characters.
+     *
+     * @param phone phone number in any supported format
+     * @return matching warehouses in load order, empty when none match
+     */
+    public List<WarehouseDTO> findByPhone(final String phone) {
+        if (bounded) {
+            return repository.findDTOsByPhone(phone);
+        }
+        return snapshot.findByPhone(phone);
+    }
+
+    /**
+     * Finds cached warehouses by state abbreviation, ignoring case.
+     *
+     * @param state two-letter state abbreviation
+     * @return matching warehouses in load order, empty when none match
+     */
+    public List<WarehouseDTO> findByState(final String state) {
+        if (bounded) {
+            return List.copyOf(repository.findDTOs(new WarehouseQuery(state, null, null, null, null, null)));
+        }
+        return snapshot.findByState(state);
+    }
+
+    /**
+     * Finds cached warehouses by city, ignoring case.
+     *
+     * @param city city name
+     * @return matching warehouses in load order, empty when none match
+     */
+    public List<WarehouseDTO> findByCity(final String city) {
+        if (bounded) {
+            return List.copyOf(repository.findDTOs(new WarehouseQuery(null, city, null, null, null, null)));
+        }
+        return snapshot.findByCity(city);
+    }
+
+    // warehouses held in memory: the whole snapshot, or in bounded mode the repository lookup caches
+    private double residentWarehouses() {
+        return bounded ? lookupCache.residentWarehouses() : snapshot.warehouses().size();
+    }
+
+    // NaN until the first successful load, so the age gauge reports no value rather than zero
+    private double snapshotAgeNanos() {
+        final long confirmedAt = snapshotConfirmedAt;
+        return confirmedAt == 0L ? Double.NaN : System.nanoTime() - confirmedAt;
+    }
+
+    /**
+     * Returns throughput and memory figures for the most recent successful load.
+     *
+     * @return statistics of the last load, or {@link WarehouseLoadStatistics#EMPTY} before any load
+     */
+    public WarehouseLoadStatistics getLastLoadStatistics() {
+        return lastLoadStatistics;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+package com.training.callum.whoms.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.domain.WarehouseRow;
+import com.training.callum.whoms.repository.WarehouseJpaRepository;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for exporting the full warehouse cache as a JSON stream.
+ *
+ * Warehouses are serialized one at a time through a {@link JsonGenerator} straight onto the
+ * caller's output stream, so memory use does not depend on the number of warehouses exported
+ * and the first bytes are sent before the last warehouse is serialized. In bounded mode, where the cache
+ * holds no complete list, the warehouses are streamed from the database in one read-only transaction.
+ */
+@Service
+public class WarehouseExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(WarehouseExportService.class);
+
+    /** Number of warehouses written between explicit flushes of the output stream. */
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final WarehouseDTOCacheService cacheService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter warehouseWriter;
+    private final WarehouseJpaRepository repository;
+    private final TransactionTemplate readTransaction;
+
+    public WarehouseExportService(
+            final WarehouseDTOCacheService cacheService,
+            final ObjectMapper objectMapper,
+            final WarehouseJpaRepository repository,
+            final PlatformTransactionManager transactionManager) {
+        this.cacheService = cacheService;
+        this.objectMapper = objectMapper;
+        this.repository = repository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        // flushing is done in batches below rather than after every warehouse
+        this.warehouseWriter = objectMapper.writerFor(WarehouseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes every cached warehouse as newline-delimited JSON, one object per line.
+     *
+     * @param outputStream destination, left open for the caller to close
+     * @return number of warehouses written
+     * @throws IOException when writing to the stream fails
+     */
+    public int writeNdjson(final OutputStream outputStream) throws IOException {
+        final int written = export(warehouses -> {
+            int count = 0;
+            try (final JsonGenerator generator = createGenerator(outputStream)) {
+                // lines are terminated explicitly, so no separator between root-level values
+                generator.setRootValueSeparator(null);
+                while (warehouses.hasNext()) {
+                    warehouseWriter.writeValue(generator, warehouses.next());
+                    generator.writeRaw('\n');
+                    flushPeriodically(generator, count++);
+                }
+            }
+            return count;
+        });
+        log.debug("Exported {} warehouses as NDJSON", written);
+        return written;
+    }
+
+    /**
+     * Writes every cached warehouse as a single JSON array.
+     *
+     * @param outputStream destination, left open for the caller to close
+     * @return number of warehouses written
+     * @throws IOException when writing to the stream fails
+     */
+    public int writeJsonArray(final OutputStream outputStream) throws IOException {
+        final int written = export(warehouses -> {
+            int count = 0;
+            try (final JsonGenerator generator = createGenerator(outputStream)) {
+                generator.writeStartArray();
+                while (warehouses.hasNext()) {
+                    warehouseWriter.writeValue(generator, warehouses.next());
+                    flushPeriodically(generator, count++);
+                }
+                generator.writeEndArray();
+            }
+            return count;
+        });
+        log.debug("Exported {} warehouses as a JSON array", written);
+        return written;
+    }
+
+    /** Writes the warehouses it is handed and returns how many it wrote. */
+    @FunctionalInterface
+    private interface ExportWriter {
+        int write(Iterator<WarehouseDTO> warehouses) throws IOException;
+    }
+
+    // hands the writer the cached list, or in bounded mode the database rows while the transaction is open
+    private int export(final ExportWriter writer) throws IOException {
+        if (!cacheService.isBounded()) {
+            return writer.write(cacheService.getWarehouses().iterator());
+        }
+        try {
+            return readTransaction.execute(status -> {
+                try (Stream<WarehouseRow> rows = repository.streamAllRows()) {
+                    return writer.write(rows.map(WarehouseRow::toDTO).iterator());
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private JsonGenerator createGenerator(final OutputStream outputStream) throws IOException {
+        final JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    // flush after the first record for a fast first byte, then at a fixed interval
+    private static void flushPeriodically(final JsonGenerator generator, final int index) throws IOException {
+        if (index % FLUSH_INTERVAL == 0) {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.training.callum.whoms.service;
+
+import com.training.callum.whoms.domain.WarehouseDTO;
+import java.util.List;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by {@link WarehouseDTOCacheService} on the loading thread after each successful load or reload
+ * of the warehouse file, and after a snapshot restore.
+ *
+ * The list holds every warehouse of the file in file order, including those that failed validation. In
+ * the bounded store it is the only reference to the loaded warehouses and is dropped once the listeners
+ * return, so a listener that needs them later must copy them.
+ *
+ * The first load runs while the application context is still starting, before {@code @EventListener}
+ * methods are registered, so listeners must implement {@code ApplicationListener} and be created before
+ * {@link WarehouseCacheWarmUp}.
+ */
+public class WarehouseFileLoadedEvent extends ApplicationEvent {
+
+    private final String location;
+    private final List<WarehouseDTO> warehouses;
+    private final boolean reload;
+
+    /**
+     * @param source the cache that loaded the file
+     * @param location configured location of the warehouse file
+     * @param warehouses loaded warehouses, unmodifiable
+     * @param reload whether the load was an incremental reload
+     */
+    public WarehouseFileLoadedEvent(
+            final Object source, final String location, final List<WarehouseDTO> warehouses, final boolean reload) {
+        super(source);
+        this.location = location;
+        this.warehouses = warehouses;
+        this.reload = reload;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public List<WarehouseDTO> getWarehouses() {
+        return warehouses;
+    }
+
+    public boolean isReload() {
+        return reload;
+    }
+}
@@ -0,0 +1,134 @@
+package com.training.callum.whoms.service;
+
+import com.training.callum.whoms.config.InputProperties;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service that watches the warehouse file and reloads the cache when it changes.
+ *
+ * The file's modification time and size are polled every {@code input.file.reload-interval} on a
+ * single background thread. Polling rather than a directory {@code WatchService} also catches files
+ * replaced by rename and works on network mounts that do not deliver change events. When the file
+ * changed, {@link WarehouseDTOCacheService#reloadWarehouseDtos()} parses it and swaps in the delta;
+ * a reload that fails, for instance because the file was caught half written, is retried on the
+ * next poll. Only resources that resolve to a file on disk can be watched.
+ */
+@Service
+public class WarehouseFileReloadService {
+
+    private static final Logger log = LoggerFactory.getLogger(WarehouseFileReloadService.class);
+
+    private final InputProperties inputProperties;
+    private final ResourceLoader resourceLoader;
+    private final WarehouseDTOCacheService cacheService;
+    private ScheduledExecutorService executor;
+    private Path watchedFile;
+    private FileVersion lastLoaded;
+
+    /** Modification time and size of the file, compared between polls. */
+    private record FileVersion(FileTime lastModified, long size) {
+    }
+
+    public WarehouseFileReloadService(
+            final InputProperties inputProperties,
+            final ResourceLoader resourceLoader,
+            final WarehouseDTOCacheService cacheService) {
+        this.inputProperties = inputProperties;
+        this.resourceLoader = resourceLoader;
+        this.cacheService = cacheService;
+    }
+
+    /**
+     * Starts polling once the application has started, when a positive reload interval is configured.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        final Duration interval = inputProperties.file().reloadInterval();
+        if (interval == null || interval.isZero() || interval.isNegative() || executor != null) {
+            return;
+        }
+        final String warehousePath = inputProperties.file().warehouses();
+        final Resource resource = resourceLoader.getResource(warehousePath);
+        try {
+            if (!resource.isFile()) {
+                log.warn("Warehouse file {} is not on the file system and will not be reloaded", warehousePath);
+                return;
+            }
+            watchedFile = resource.getFile().toPath();
+        } catch (final IOException e) {
+            log.warn("Cannot resolve warehouse file {} for reloading", warehousePath, e);
+            return;
+        }
+
+        lastLoaded = currentVersion();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "warehouse-file-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::reloadIfChanged,
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Watching warehouse file {} for changes every {}", watchedFile, interval);
+    }
+
+    /**
+     * Stops polling. A reload already running is allowed to finish.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Reloads the cache when the file's modification time or size differs from the last loaded version.
+     * Runs on the polling thread; exceptions are logged so that polling continues.
+     */
+    void reloadIfChanged() {
+        try {
+            final FileVersion current = currentVersion();
+            if (current == null || Objects.equals(current, lastLoaded)) {
+                return;
+            }
+            log.debug("Warehouse file {} changed, reloading", watchedFile);
+            if (cacheService.reloadWarehouseDtos().isPresent()) {
+                lastLoaded = current;
+            }
+        } catch (final RuntimeException e) {
+            log.error("Reloading warehouse file {} failed", watchedFile, e);
+        }
+    }
+
+    private FileVersion currentVersion() {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(watchedFile, BasicFileAttributes.class);
+            return new FileVersion(attributes.lastModifiedTime(), attributes.size());
+        } catch (final NoSuchFileException e) {
+            log.debug("Warehouse file {} is missing, keeping the current cache", watchedFile);
+            return null;
+        } catch (final IOException e) {
+            log.warn("Cannot read attributes of warehouse file {}", watchedFile, e);
+            return null;
+        }
+    }
+}
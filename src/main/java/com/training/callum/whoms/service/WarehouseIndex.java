@@ -0,0 +1,198 @@
+package com.training.callum.whoms.service;
+
+import com.training.callum.whoms.domain.WarehouseDTO;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * Immutable hash index from a normalized key to the positions of matching warehouses in a snapshot.
+ *
+ * Positions are stored as primitive arrays rather than object lists so that an index costs one
+ * map entry and one int[] per distinct key, independent of how the warehouses themselves are stored.
+ * A {@link #hashed hashed} index goes further for keys that are nearly unique per warehouse: it keeps
+ * only the hash code of each key and confirms candidates against the snapshot list, so it holds no
+ * strings at all.
+ */
+abstract class WarehouseIndex {
+
+    static final WarehouseIndex EMPTY = new KeyedIndex(Map.of());
+
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private WarehouseIndex() {
+        // only the nested implementations below
+    }
+
+    /**
+     * Builds an index over the given warehouses. Warehouses whose key is null are not indexed.
+     *
+     * @param warehouses warehouses in snapshot order
+     * @param keyExtractor derives the normalized key of a warehouse
+     * @return the index
+     */
+    static WarehouseIndex build(final List<WarehouseDTO> warehouses, final Function<WarehouseDTO, String> keyExtractor) {
+        final Map<String, PositionsBuilder> builders = new HashMap<>();
+        for (int i = 0; i < warehouses.size(); i++) {
+            final String key = keyExtractor.apply(warehouses.get(i));
+            if (key != null) {
+                builders.computeIfAbsent(key, k -> new PositionsBuilder()).add(i);
+            }
+        }
+
+        final Map<String, int[]> positionsByKey = new HashMap<>((int) (builders.size() / 0.75f) + 1);
+        builders.forEach((key, builder) -> positionsByKey.put(key, builder.toArray()));
+        return new KeyedIndex(positionsByKey);
+    }
+
+    /**
+     * Builds an index that stores two ints per indexed warehouse, its key hash and its position, sorted
+     * by hash. Looking a key up binary-searches its hash and re-derives the key of every candidate from
+     * the snapshot list to rule out collisions. Warehouses whose key is null are not indexed.
+     *
+     * @param warehouses warehouses in snapshot order; any list with the same elements at the same positions
+     *        as the snapshot list works, so the index can be built before the snapshot list exists
+     * @param keyExtractor derives the normalized key of a warehouse
+     * @return the index
+     */
+    static WarehouseIndex hashed(final List<WarehouseDTO> warehouses, final Function<WarehouseDTO, String> keyExtractor) {
+        // hash in the high half, position in the low half: one sort orders by hash, then by position
+        final long[] entries = new long[warehouses.size()];
+        int size = 0;
+        for (int i = 0; i < warehouses.size(); i++) {
+            final String key = keyExtractor.apply(warehouses.get(i));
+            if (key != null) {
+                entries[size++] = ((long) key.hashCode() << 32) | i;
+            }
+        }
+        Arrays.sort(entries, 0, size);
+
+        final int[] hashes = new int[size];
+        final int[] positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            hashes[i] = (int) (entries[i] >> 32);
+            positions[i] = (int) entries[i];
+        }
+        return new HashedIndex(hashes, positions, keyExtractor);
+    }
+
+    /**
+     * Returns the snapshot positions recorded for a key.
+     *
+     * @param warehouses snapshot list the index was built for
+     * @param key normalized key, may be null
+     * @return positions in ascending order, empty when the key is unknown
+     */
+    final int[] positions(final List<WarehouseDTO> warehouses, final String key) {
+        return key == null ? NO_POSITIONS : positionsOf(warehouses, key);
+    }
+
+    abstract int[] positionsOf(List<WarehouseDTO> warehouses, String key);
+
+    /**
+     * Resolves the warehouses recorded for a key as a read-only view over the snapshot list.
+     *
+     * @param warehouses snapshot list the index was built from
+     * @param key normalized key, may be null
+     * @return matching warehouses in snapshot order
+     */
+    final List<WarehouseDTO> lookUp(final List<WarehouseDTO> warehouses, final String key) {
+        final int[] positions = positions(warehouses, key);
+        if (positions.length == 0) {
+            return List.of();
+        }
+        return new PositionView(warehouses, positions);
+    }
+
+    /** Index holding every distinct key with its positions. */
+    private static final class KeyedIndex extends WarehouseIndex {
+
+        private final Map<String, int[]> positionsByKey;
+
+        KeyedIndex(final Map<String, int[]> positionsByKey) {
+            this.positionsByKey = positionsByKey;
+        }
+
+        @Override
+        int[] positionsOf(final List<WarehouseDTO> warehouses, final String key) {
+            return positionsByKey.getOrDefault(key, NO_POSITIONS);
+        }
+    }
+
+    /** Index holding key hashes sorted together with their positions. */
+    private static final class HashedIndex extends WarehouseIndex {
+
+        private final int[] hashes;
+        private final int[] positions;
+        private final Function<WarehouseDTO, String> keyExtractor;
+
+        HashedIndex(final int[] hashes, final int[] positions, final Function<WarehouseDTO, String> keyExtractor) {
+            this.hashes = hashes;
+            this.positions = positions;
+            this.keyExtractor = keyExtractor;
+        }
+
+        @Override
+        int[] positionsOf(final List<WarehouseDTO> warehouses, final String key) {
+            final int hash = key.hashCode();
+            int first = Arrays.binarySearch(hashes, hash);
+            if (first < 0) {
+                return NO_POSITIONS;
+            }
+            while (first > 0 && hashes[first - 1] == hash) {
+                first--;
+            }
+            final PositionsBuilder matches = new PositionsBuilder();
+            for (int i = first; i < hashes.length && hashes[i] == hash; i++) {
+                if (key.equals(keyExtractor.apply(warehouses.get(positions[i])))) {
+                    matches.add(positions[i]);
+                }
+            }
+            return matches.size == 0 ? NO_POSITIONS : matches.toArray();
+        }
+    }
+
+    /** Growable int array used while an index is being built or a hashed lookup collects its matches. */
+    private static final class PositionsBuilder {
+
+        private int[] positions = new int[2];
+        private int size;
+
+        void add(final int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return size == positions.length ? positions : Arrays.copyOf(positions, size);
+        }
+    }
+
+    /** Read-only list of the warehouses found at a set of snapshot positions. */
+    private static final class PositionView extends AbstractList<WarehouseDTO> implements RandomAccess {
+
+        private final List<WarehouseDTO> warehouses;
+        private final int[] positions;
+
+        PositionView(final List<WarehouseDTO> warehouses, final int[] positions) {
+            this.warehouses = warehouses;
+            this.positions = positions;
+        }
+
+        @Override
+        public WarehouseDTO get(final int index) {
+            return warehouses.get(positions[index]);
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.training.callum.whoms.service;
+
+import com.training.callum.whoms.config.CacheConfiguration;
+import com.training.callum.whoms.domain.Warehouse;
+import com.training.callum.whoms.domain.WarehouseLookupKeys;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidation side of the repository lookup caches, which hold DTO projection lookups only.
+ *
+ * Evictions are transaction aware: inside a transaction they run after commit, so a concurrent lookup
+ * cannot re-cache the old rows between the eviction and the commit. Keys are taken from the warehouse
+ * when eviction is requested, so a managed entity may be modified afterwards.
+ *
+ * The hit ratio of every Caffeine-backed lookup cache is published through {@link WarehouseMetrics}.
+ * In the bounded store these caches are all the warehouse cache keeps in memory, so they also report
+ * how many warehouses they hold.
+ */
+@Component
+public class WarehouseLookupCache {
+
+    private final Cache byName;
+    private final Cache byPostalCode;
+    private final Cache byPhone;
+    /** Caches behind the lookups that can be sized; empty when they are not Caffeine caches. */
+    private final List<CaffeineCache> caffeineCaches = new ArrayList<>();
+
+    public WarehouseLookupCache(final CacheManager cacheManager, final WarehouseMetrics metrics) {
+        this.byName = transactionAware(cacheManager, metrics, CacheConfiguration.WAREHOUSE_DTOS_BY_NAME);
+        this.byPostalCode = transactionAware(cacheManager, metrics, CacheConfiguration.WAREHOUSE_DTOS_BY_POSTAL_CODE);
+        this.byPhone = transactionAware(cacheManager, metrics, CacheConfiguration.WAREHOUSE_DTOS_BY_PHONE);
+    }
+
+    /**
+     * @return warehouses held by the lookup caches, counted once per cached lookup they appear in; the
+     *         number of entries when a cache is not weighed
+     */
+    public long residentWarehouses() {
+        long resident = 0L;
+        for (final CaffeineCache cache : caffeineCaches) {
+            final long entries = cache.getNativeCache().estimatedSize();
+            resident += cache.getNativeCache().policy().eviction()
+                    .map(eviction -> eviction.weightedSize().orElse(entries))
+                    .orElse(entries);
+        }
+        return resident;
+    }
+
+    /**
+     * Evicts the cached lookups a warehouse with these field values can appear in.
+     *
+     * @param warehouse the warehouse as it is, or was, stored
+     */
+    public void evict(final Warehouse warehouse) {
+        evict(warehouse.getName(), warehouse.getPostalCode(), warehouse.getWarehousePhone());
+    }
+
+    /**
+     * Evicts the cached lookups for a name, postal code and phone number; null values are skipped.
+     */
+    public void evict(final String name, final String postalCode, final String phone) {
+        if (name != null) {
+            byName.evict(WarehouseLookupKeys.name(name));
+        }
+        if (postalCode != null) {
+            byPostalCode.evict(postalCode);
+        }
+        if (phone != null) {
+            byPhone.evict(WarehouseLookupKeys.phone(phone));
+        }
+    }
+
+    private Cache transactionAware(final CacheManager cacheManager, final WarehouseMetrics metrics,
+                                   final String name) {
+        final Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Cache " + name + " is not configured");
+        }
+        if (cache instanceof CaffeineCache caffeineCache) {
+            metrics.registerLookupCache(name, caffeineCache.getNativeCache());
+            caffeineCaches.add(caffeineCache);
+        }
+        return new TransactionAwareCacheDecorator(cache);
+    }
+}
@@ -0,0 +1,94 @@
+package com.training.callum.whoms.service;
+
+import com.training.callum.whoms.config.IngestProperties;
+import com.training.callum.whoms.domain.Warehouse;
+import com.training.callum.whoms.repository.WarehouseJpaRepository;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Derives the name and phone lookup keys of warehouses written before the key columns existed.
+ *
+ * A schema update adds the key columns empty to a table that already holds rows, and lookups match on
+ * the keys only, so such rows could not be found by name or phone. With {@code ingest.backfill-lookup-keys}
+ * enabled, once the context has started and before the application reports ready, rows without keys are
+ * loaded in chunks of the ingest chunk size and their keys recomputed through the entity setters, one
+ * transaction per chunk.
+ *
+ * The key columns are not indexed for nulls, so finding rows without keys scans the table. Rows written
+ * since the columns exist always have keys, so the backfill is an upgrade step: it stays off by default
+ * and only needs enabling for the first start against a database that predates the key columns.
+ */
+@Component
+public class WarehouseLookupKeyBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(WarehouseLookupKeyBackfill.class);
+
+    private final WarehouseJpaRepository repository;
+    private final IngestProperties ingestProperties;
+    private final TransactionTemplate chunkTransaction;
+
+    public WarehouseLookupKeyBackfill(
+            final WarehouseJpaRepository repository,
+            final IngestProperties ingestProperties,
+            final PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.ingestProperties = ingestProperties;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Runs the backfill at startup when {@code ingest.backfill-lookup-keys} is enabled.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void backfillOnStartup() {
+        if (!ingestProperties.backfillLookupKeys()) {
+            return;
+        }
+        if (backfill() == 0) {
+            log.info("Every warehouse has its lookup keys, ingest.backfill-lookup-keys can be disabled");
+        }
+    }
+
+    /**
+     * Fills in missing lookup keys chunk by chunk until no row lacks them.
+     *
+     * @return number of warehouses whose keys were derived
+     */
+    public int backfill() {
+        final int chunkSize = ingestProperties.chunkSize();
+        int backfilled = 0;
+        while (true) {
+            final int derived = chunkTransaction.execute(status -> {
+                final List<Warehouse> warehouses =
+                        repository.findByNameKeyIsNullOrPhoneKeyIsNull(PageRequest.of(0, chunkSize));
+                int count = 0;
+                // the setters derive the keys, dirty checking writes them on commit
+                for (final Warehouse warehouse : warehouses) {
+                    warehouse.setName(warehouse.getName());
+                    warehouse.setWarehousePhone(warehouse.getWarehousePhone());
+                    if (warehouse.getNameKey() != null && warehouse.getPhoneKey() != null) {
+                        count++;
+                    }
+                }
+                return count;
+            });
+            backfilled += derived;
+            // a short chunk is the last one; a row whose keys cannot be derived would come back every time
+            if (derived < chunkSize) {
+                break;
+            }
+        }
+        if (backfilled > 0) {
+            log.info("Derived lookup keys of {} warehouses written before the key columns existed", backfilled);
+        }
+        return backfilled;
+    }
+}
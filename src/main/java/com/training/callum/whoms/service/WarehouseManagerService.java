@@ -1,7 +1,10 @@
 package com.training.callum.whoms.service;
 
+import com.training.callum.whoms.domain.BulkPersistResult;
 import com.training.callum.whoms.domain.Warehouse;
 import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.domain.WarehouseLookupType;
+import java.util.stream.Stream;
 
 /**
  * Service interface for managing warehouse operations including persistence and lookup.
@@ -13,24 +16,98 @@ public interface WarehouseManagerService {
      *
      * @param dto the warehouse data transfer object
      * @return the persisted Warehouse entity
+     * @throws IllegalArgumentException when any field fails validation
      */
     Warehouse persistWarehouseDTO(WarehouseDTO dto);
 
+    /**
+     * Persist many WarehouseDTOs after validation, in chunks of the configured ingest chunk size.
+     * Warehouses that fail validation are dropped before chunking and counted as skipped, so they
+     * never reach the database and never fail the chunk they would have been part of. Each chunk is
+     * written with JDBC batch inserts and committed in its own transaction; a chunk that fails is
+     * rolled back and reported without stopping the remaining chunks.
+     *
+     * @param dtos the warehouse data transfer objects, consumed once in order
+     * @return number of warehouses committed and skipped, and the chunks that failed
+     */
+    BulkPersistResult persistWarehouseDTOs(Iterable<WarehouseDTO> dtos);
+
+    /**
+     * Persist many WarehouseDTOs after validation, committing every {@code chunkSize} warehouses.
+     *
+     * @param dtos the warehouse data transfer objects, consumed once in order
+     * @param chunkSize number of warehouses per transaction, must be positive
+     * @return number of warehouses committed and skipped, and the chunks that failed
+     */
+    BulkPersistResult persistWarehouseDTOs(Iterable<WarehouseDTO> dtos, int chunkSize);
+
+    /**
+     * Persist a stream of WarehouseDTOs in chunks; see {@link #persistWarehouseDTOs(Iterable)}.
+     *
+     * @param dtos the warehouse data transfer objects
+     * @return number of warehouses committed and skipped, and the chunks that failed
+     */
+    default BulkPersistResult persistWarehouseDTOs(Stream<WarehouseDTO> dtos) {
+        return persistWarehouseDTOs(dtos::iterator);
+    }
+
     /**
      * Look up warehouses by a generic search parameter.
-     * The parameter is validated against WarehouseDTOPatterns to determine search type.
+     * The search type is inferred from the format of {@code parameter.toString()}, see
+     * {@link WarehouseLookupType#classify(CharSequence)}. Callers that know the kind of key should use
+     * {@link #warehouseLookUp(WarehouseLookupType, String)} instead.
+     *
+     * This lookup is deliberately not cached and always queries the database: it returns managed entities
+     * for callers that go on to modify them, and a cached entity would be shared between transactions.
+     * Read-only callers should use {@link #findWarehouseDTOs(Object)}, which is answered by the cache.
      *
      * @param parameter search parameter (name, postal code, or phone)
      * @param <T> type of the parameter
-     * @return list of matching Warehouse entities
+     * @return list of matching Warehouse entities, empty when the parameter is null
+     * @throws InvalidRequestException when the parameter is not a valid name, postal code or phone number
      */
     <T> java.util.List<Warehouse> warehouseLookUp(T parameter);
 
+    /**
+     * Look up warehouses by a key of a known type. The key's format is not checked; a key that does not
+     * fit the type simply finds nothing. Like {@link #warehouseLookUp(Object)} it always queries the
+     * database; read-only callers should use {@link #findWarehouseDTOs(WarehouseLookupType, String)}.
+     *
+     * @param type kind of key
+     * @param key name, postal code or phone number, may be null
+     * @return list of matching Warehouse entities, empty when the key is null
+     */
+    java.util.List<Warehouse> warehouseLookUp(WarehouseLookupType type, String key);
+
+    /**
+     * Look up warehouses like {@link #warehouseLookUp(Object)}, as immutable DTOs answered by the
+     * warehouse cache: from the hash indexes of the cached warehouse file, without a database round trip.
+     *
+     * @param parameter search parameter (name, postal code, or phone)
+     * @param <T> type of the parameter
+     * @return list of matching warehouses
+     * @throws InvalidRequestException when the parameter is not a valid name, postal code or phone number
+     * @throws WarehouseCacheUnavailableException when the cache has not been loaded
+     */
+    <T> java.util.List<WarehouseDTO> findWarehouseDTOs(T parameter);
+
+    /**
+     * Look up warehouses like {@link #warehouseLookUp(WarehouseLookupType, String)}, as immutable DTOs
+     * answered by the warehouse cache, see {@link #findWarehouseDTOs(Object)}.
+     *
+     * @param type kind of key
+     * @param key name, postal code or phone number, may be null
+     * @return list of matching warehouses, empty when the key is null
+     * @throws WarehouseCacheUnavailableException when the cache has not been loaded
+     */
+    java.util.List<WarehouseDTO> findWarehouseDTOs(WarehouseLookupType type, String key);
+
     /**
      * Add a new warehouse entity after validation.
      *
      * @param warehouse the warehouse entity to persist
      * @return the persisted Warehouse entity
+     * @throws IllegalArgumentException when any field fails validation
      */
     Warehouse addPerspectiveWarehouse(Warehouse warehouse);
 
@@ -39,6 +116,7 @@ public interface WarehouseManagerService {
      *
      * @param warehouse the warehouse entity to update
      * @return the updated Warehouse entity
+     * @throws IllegalArgumentException when any field fails validation
      */
     Warehouse updateWarehouseInformation(Warehouse warehouse);
 }
\ No newline at end of file
@@ -1,19 +1,34 @@
 package com.training.callum.whoms.service;
 
+import com.training.callum.whoms.config.IngestProperties;
+import com.training.callum.whoms.domain.BulkPersistResult;
+import com.training.callum.whoms.domain.ValidationResult;
+import com.training.callum.whoms.domain.ValidationSummary;
 import com.training.callum.whoms.domain.Warehouse;
 import com.training.callum.whoms.domain.WarehouseDTO;
 import com.training.callum.whoms.domain.WarehouseDTOPatterns;
+import com.training.callum.whoms.domain.WarehouseLookupType;
 import com.training.callum.whoms.repository.WarehouseJpaRepository;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Implementation of WarehouseManagerService for warehouse persistence and lookup operations.
+ *
+ * Entity lookups query the repository; DTO lookups are answered by {@link WarehouseDTOCacheService},
+ * from the hash indexes of its snapshot without a database round trip.
  */
 @Service
 @Transactional
@@ -23,21 +38,52 @@ public class WarehouseManagerServiceImpl implements WarehouseManagerService {
 
     private final ExtDataValidationService validationService;
     private final WarehouseJpaRepository repository;
+    private final TransactionTemplate chunkTransaction;
+    private final IngestProperties ingestProperties;
+    private final WarehouseLookupCache lookupCache;
+    private final WarehouseMetrics metrics;
+    private final WarehouseDTOCacheService cacheService;
+    private final LookupQueries<Warehouse> entityQueries;
+    private final LookupQueries<WarehouseDTO> dtoQueries;
+
+    /** Queries per lookup type, bound once rather than on every lookup. */
+    private record LookupQueries<R>(
+            boolean dto,
+            Function<String, List<R>> byName,
+            Function<String, List<R>> byPostalCode,
+            Function<String, List<R>> byPhone) {
+    }
 
     public WarehouseManagerServiceImpl(
             final ExtDataValidationService validationService,
-            final WarehouseJpaRepository repository) {
+            final WarehouseJpaRepository repository,
+            final PlatformTransactionManager transactionManager,
+            final IngestProperties ingestProperties,
+            final WarehouseLookupCache lookupCache,
+            final WarehouseMetrics metrics,
+            final WarehouseDTOCacheService cacheService) {
         this.validationService = validationService;
         this.repository = repository;
+        this.lookupCache = lookupCache;
+        this.metrics = metrics;
+        this.cacheService = cacheService;
+        this.entityQueries = new LookupQueries<>(false,
+                repository::findByName, repository::findByPostalCode, repository::findByPhone);
+        this.dtoQueries = new LookupQueries<>(true,
+                cacheService::findByName, cacheService::findByPostalCode, cacheService::findByPhone);
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ingestProperties = ingestProperties;
     }
 
     @Override
     public Warehouse persistWarehouseDTO(final WarehouseDTO dto) {
         LOGGER.debug("Persisting WarehouseDTO: {}", dto);
         try {
-            validationService.validate(dto);
+            requireValid(validationService.validate(dto));
             final Warehouse entity = convertToEntity(dto);
             final Warehouse saved = repository.save(entity);
+            lookupCache.evict(saved);
             LOGGER.info("Successfully persisted warehouse with id: {}", saved.getId());
             return saved;
         } catch (Exception ex) {
@@ -46,34 +92,139 @@ public class WarehouseManagerServiceImpl implements WarehouseManagerService {
         }
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkPersistResult persistWarehouseDTOs(final Iterable<WarehouseDTO> dtos) {
+        return persistWarehouseDTOs(dtos, ingestProperties.chunkSize());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkPersistResult persistWarehouseDTOs(final Iterable<WarehouseDTO> dtos, final int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        LOGGER.debug("Bulk persisting warehouses in chunks of {}", chunkSize);
+
+        final List<BulkPersistResult.ChunkFailure> failedChunks = new ArrayList<>();
+        final List<Warehouse> chunk = new ArrayList<>(chunkSize);
+        final ValidationSummary.Accumulator<WarehouseDTOPatterns> validation =
+                new ValidationSummary.Accumulator<>(WarehouseDTOPatterns.class);
+        int persisted = 0;
+        int skipped = 0;
+        int chunkIndex = 0;
+        long position = 0;
+        long firstRecord = 0;
+        for (final WarehouseDTO dto : dtos) {
+            final ValidationResult<WarehouseDTOPatterns> result = validationService.validate(dto);
+            validation.add(result);
+            if (!result.isValid()) {
+                skipped++;
+                position++;
+                continue;
+            }
+            if (chunk.isEmpty()) {
+                firstRecord = position;
+            }
+            chunk.add(convertToEntity(dto));
+            position++;
+            if (chunk.size() == chunkSize) {
+                persisted += saveChunk(chunk, chunkIndex++, firstRecord, failedChunks);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persisted += saveChunk(chunk, chunkIndex, firstRecord, failedChunks);
+        }
+
+        final ValidationSummary<WarehouseDTOPatterns> summary = validation.toSummary();
+        metrics.recordValidation("ingest", summary);
+        if (!summary.isValid()) {
+            LOGGER.warn("{} of {} bulk warehouses failed validation and were skipped: {}",
+                    summary.invalid(), summary.validated(), summary.describeFailures());
+        }
+        LOGGER.info("Bulk persisted {} warehouses, {} skipped, {} chunks failed", persisted, skipped, failedChunks.size());
+        return new BulkPersistResult(persisted, skipped, List.copyOf(failedChunks));
+    }
+
+    // entity lookups stay uncached on purpose, see WarehouseJpaRepository
     @Override
     public <T> List<Warehouse> warehouseLookUp(final T parameter) {
+        final String key = lookupKey(parameter);
+        return key == null ? Collections.emptyList() : lookUp(classify(key), key, entityQueries);
+    }
+
+    @Override
+    public List<Warehouse> warehouseLookUp(final WarehouseLookupType type, final String key) {
+        return lookUp(requireType(type), key, entityQueries);
+    }
+
+    // answered by the cache, so no transaction is opened for them
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public <T> List<WarehouseDTO> findWarehouseDTOs(final T parameter) {
+        cacheService.requireLoaded();
+        final String key = lookupKey(parameter);
+        return key == null ? Collections.emptyList() : lookUp(classify(key), key, dtoQueries);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<WarehouseDTO> findWarehouseDTOs(final WarehouseLookupType type, final String key) {
+        cacheService.requireLoaded();
+        return lookUp(requireType(type), key, dtoQueries);
+    }
+
+    private static <T> String lookupKey(final T parameter) {
         LOGGER.debug("Looking up warehouses with parameter: {}", parameter);
         if (parameter == null) {
             LOGGER.warn("Null parameter provided for warehouse lookup");
-            return Collections.emptyList();
+            return null;
         }
+        return parameter.toString();
+    }
 
-        final String paramStr = parameter.toString();
+    /**
+     * Determine the search type of a key from its format, see {@link WarehouseLookupType#classify(CharSequence)}.
+     *
+     * @throws InvalidRequestException when the key is not a valid name, postal code or phone number
+     */
+    private WarehouseLookupType classify(final String key) {
+        final WarehouseLookupType type = WarehouseLookupType.classify(key);
+        if (type == null) {
+            LOGGER.warn("Parameter does not match any valid pattern: {}", key);
+            metrics.recordRejectedLookup();
+            throw new InvalidRequestException("Parameter does not match name, postal code, or phone pattern: " + key);
+        }
+        return type;
+    }
+
+    private static WarehouseLookupType requireType(final WarehouseLookupType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Lookup type must not be null");
+        }
+        return type;
+    }
+
+    /**
+     * Run the query for a lookup type, timed per lookup type. A null key finds nothing.
+     */
+    private <R> List<R> lookUp(final WarehouseLookupType type, final String key, final LookupQueries<R> queries) {
+        if (key == null) {
+            return Collections.emptyList();
+        }
+        LOGGER.debug("Searching by {}: {}", type.tag(), key);
+        final Function<String, List<R>> query = switch (type) {
+            case NAME -> queries.byName();
+            case POSTAL_CODE -> queries.byPostalCode();
+            case PHONE -> queries.byPhone();
+        };
+        final Timer timer = metrics.lookupTimer(type, queries.dto());
+        final long started = System.nanoTime();
         try {
-            // Determine search type by validating against patterns
-            if (WarehouseDTOPatterns.NAME.getPattern().matcher(paramStr).matches()) {
-                LOGGER.debug("Searching by name: {}", paramStr);
-                return repository.findByName(paramStr);
-            } else if (WarehouseDTOPatterns.POSTAL_CODE.getPattern().matcher(paramStr).matches()) {
-                LOGGER.debug("Searching by postal code: {}", paramStr);
-                return repository.findByPostalCode(paramStr);
-            } else if (WarehouseDTOPatterns.WAREHOUSE_PHONE.getPattern().matcher(paramStr).matches()) {
-                LOGGER.debug("Searching by phone: {}", paramStr);
-                return repository.findByPhone(paramStr);
-            } else {
-                LOGGER.warn("Parameter does not match any valid pattern: {}", paramStr);
-                throw new IllegalArgumentException(
-                        "Parameter does not match name, postal code, or phone pattern: " + paramStr);
-            }
-        } catch (Exception ex) {
-            LOGGER.error("Failed to look up warehouses with parameter: {}", parameter, ex);
-            throw ex;
+            return query.apply(key);
+        } finally {
+            timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
         }
     }
 
@@ -81,8 +232,9 @@ public class WarehouseManagerServiceImpl implements WarehouseManagerService {
     public Warehouse addPerspectiveWarehouse(final Warehouse warehouse) {
         LOGGER.debug("Adding new warehouse: {}", warehouse);
         try {
-            validateEntity(warehouse);
+            requireValid(validationService.validateEntity(warehouse));
             final Warehouse saved = repository.save(warehouse);
+            lookupCache.evict(saved);
             LOGGER.info("Successfully added warehouse with id: {}", saved.getId());
             return saved;
         } catch (Exception ex) {
@@ -95,8 +247,13 @@ public class WarehouseManagerServiceImpl implements WarehouseManagerService {
     public Warehouse updateWarehouseInformation(final Warehouse warehouse) {
         LOGGER.debug("Updating warehouse: {}", warehouse);
         try {
-            validateEntity(warehouse);
+            requireValid(validationService.validateEntity(warehouse));
+            // lookups of the values being replaced are stale as well
+            if (warehouse.getId() != null) {
+                repository.findById(warehouse.getId()).ifPresent(lookupCache::evict);
+            }
             final Warehouse updated = repository.save(warehouse);
+            lookupCache.evict(updated);
             LOGGER.info("Successfully updated warehouse with id: {}", updated.getId());
             return updated;
         } catch (Exception ex) {
@@ -106,13 +263,50 @@ public class WarehouseManagerServiceImpl implements WarehouseManagerService {
     }
 
     /**
-     * Convert WarehouseDTO to Warehouse entity.
+     * Save one chunk of new entities in its own transaction so the JDBC batch is flushed and committed
+     * together; a failure rolls back only this chunk and is recorded for the caller.
+     *
+     * @return number of entities committed
+     */
+    private int saveChunk(final List<Warehouse> chunk, final int chunkIndex, final long firstRecord,
+                          final List<BulkPersistResult.ChunkFailure> failedChunks) {
+        try {
+            chunkTransaction.executeWithoutResult(status -> {
+                repository.saveAll(chunk);
+                repository.flush();
+                chunk.forEach(lookupCache::evict);
+            });
+            return chunk.size();
+        } catch (RuntimeException ex) {
+            LOGGER.error("Failed to persist warehouse chunk {} (records {}-{})",
+                    chunkIndex, firstRecord, firstRecord + chunk.size() - 1, ex);
+            failedChunks.add(new BulkPersistResult.ChunkFailure(chunkIndex, firstRecord, chunk.size(), ex.getMessage()));
+            return 0;
+        }
+    }
+
+    /**
+     * Reject a single warehouse write when any field failed validation.
+     *
+     * @param result the validation outcome
+     * @throws IllegalArgumentException listing the failed fields
+     */
+    private void requireValid(final ValidationResult<WarehouseDTOPatterns> result) {
+        metrics.recordValidation("api", result);
+        if (!result.isValid()) {
+            throw new IllegalArgumentException("Warehouse failed validation: " + String.join("; ", result.messages()));
+        }
+    }
+
+    /**
+     * Convert WarehouseDTO to a new Warehouse entity. The id is left unset so Hibernate generates it
+     * on persist; a preassigned id would make Spring Data merge the entity, costing a select per insert.
      *
      * @param dto the DTO to convert
      * @return the Warehouse entity
      */
     private Warehouse convertToEntity(final WarehouseDTO dto) {
-        final Warehouse entity = new Warehouse(
+        return new Warehouse(
                 dto.name(),
                 dto.address(),
                 dto.city(),
@@ -121,25 +315,5 @@ public class WarehouseManagerServiceImpl implements WarehouseManagerService {
                 dto.warehousePhone(),
                 dto.squareFootage(),
                 dto.loadingDocks());
-        entity.setId(UUID.randomUUID());
-        return entity;
-    }
-
-    /**
-     * Validate a Warehouse entity by converting to DTO and validating.
-     *
-     * @param warehouse the entity to validate
-     */
-    private void validateEntity(final Warehouse warehouse) {
-        final WarehouseDTO dto = new WarehouseDTO(
-                warehouse.getName(),
-                warehouse.getAddress(),
-                warehouse.getCity(),
-                warehouse.getState(),
-                warehouse.getPostalCode(),
-                warehouse.getWarehousePhone(),
-                warehouse.getSquareFootage(),
-                warehouse.getLoadingDocks());
-        validationService.validate(dto);
     }
 }
\ No newline at end of file
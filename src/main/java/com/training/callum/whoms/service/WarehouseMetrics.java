@@ -0,0 +1,212 @@
+package com.training.callum.whoms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.training.callum.whoms.domain.ValidationResult;
+import com.training.callum.whoms.domain.ValidationSummary;
+import com.training.callum.whoms.domain.WarehouseDTOPatterns;
+import com.training.callum.whoms.domain.WarehouseLookupType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import org.springframework.stereotype.Component;
+
+/**
+ * Domain metrics of the warehouse load, validation, cache and lookup paths.
+ *
+ * Meter names are defined here so dashboards and alerts have one place to look them up. Meters on
+ * the lookup path are created once up front, so recording a lookup costs no registry access.
+ * Percentile histograms for the timers are switched on through
+ * {@code management.metrics.distribution.*} properties rather than in code.
+ */
+@Component
+public class WarehouseMetrics {
+
+    /** Timer of warehouse file loads, tagged by mode (full, reload) and outcome (success, failure). */
+    public static final String CACHE_LOAD = "warehouse.cache.load";
+
+    /** Counter of warehouses read by file loads, tagged by mode. */
+    public static final String CACHE_LOAD_RECORDS = "warehouse.cache.load.records";
+
+    /** Gauge of warehouses the warehouse cache holds in memory, the resident lookups in bounded mode. */
+    public static final String CACHE_SIZE = "warehouse.cache.size";
+
+    /** Time gauge since the cache snapshot was last loaded or confirmed current by a reload. */
+    public static final String CACHE_SNAPSHOT_AGE = "warehouse.cache.snapshot.age";
+
+    /** Counter of warehouses that failed validation, tagged by source (file, ingest, api). */
+    public static final String VALIDATION_INVALID = "warehouse.validation.invalid";
+
+    /** Counter of failed warehouse fields, tagged by source and field. */
+    public static final String VALIDATION_FAILURES = "warehouse.validation.failures";
+
+    /** Timer of repository lookups, tagged by type (name, postalCode, phone) and projection (entity, dto). */
+    public static final String LOOKUP = "warehouse.lookup";
+
+    /** Counter of lookups rejected because the key matched no lookup type. */
+    public static final String LOOKUP_REJECTED = "warehouse.lookup.rejected";
+
+    /** Gauge of the share of lookups served from a lookup cache since startup, tagged by cache. */
+    public static final String LOOKUP_CACHE_HIT_RATIO = "warehouse.lookup.cache.hit.ratio";
+
+    private final MeterRegistry registry;
+    private final Map<WarehouseLookupType, Timer> entityLookups = new EnumMap<>(WarehouseLookupType.class);
+    private final Map<WarehouseLookupType, Timer> dtoLookups = new EnumMap<>(WarehouseLookupType.class);
+    private final Counter rejectedLookups;
+
+    public WarehouseMetrics(final MeterRegistry registry) {
+        this.registry = registry;
+        for (final WarehouseLookupType type : WarehouseLookupType.values()) {
+            entityLookups.put(type, lookupTimer(type, "entity"));
+            dtoLookups.put(type, lookupTimer(type, "dto"));
+        }
+        this.rejectedLookups = Counter.builder(LOOKUP_REJECTED)
+                .description("Warehouse lookups whose key matched no lookup type")
+                .register(registry);
+    }
+
+    /**
+     * Registers the size and snapshot age gauges of a warehouse cache. The cache is only weakly referenced.
+     *
+     * @param cache the cache
+     * @param size number of cached warehouses
+     * @param ageNanos nanoseconds since the snapshot was last loaded or confirmed, NaN before the first load
+     */
+    public <T> void registerCache(final T cache, final ToDoubleFunction<T> size, final ToDoubleFunction<T> ageNanos) {
+        Gauge.builder(CACHE_SIZE, cache, size)
+                .description("Warehouses in the current cache snapshot")
+                .register(registry);
+        TimeGauge.builder(CACHE_SNAPSHOT_AGE, cache, TimeUnit.NANOSECONDS, ageNanos)
+                .description("Time since the warehouse cache was last loaded or confirmed current")
+                .register(registry);
+    }
+
+    /**
+     * Registers the hit ratio gauge of a Caffeine lookup cache. The cache is only weakly referenced.
+     *
+     * @param name cache name
+     * @param cache native cache; it must record statistics for the gauge to report anything
+     */
+    public void registerLookupCache(final String name, final Cache<?, ?> cache) {
+        Gauge.builder(LOOKUP_CACHE_HIT_RATIO, cache, WarehouseMetrics::hitRatio)
+                .description("Share of warehouse lookups served from the lookup cache")
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    /**
+     * Records a completed warehouse file load.
+     *
+     * @param reload whether the load was an incremental reload
+     * @param elapsedNanos duration of the load
+     * @param records warehouses read from the file
+     */
+    public void recordLoad(final boolean reload, final long elapsedNanos, final long records) {
+        loadTimer(reload, "success").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        Counter.builder(CACHE_LOAD_RECORDS)
+                .description("Warehouses read from the warehouse file")
+                .tag("mode", mode(reload))
+                .register(registry)
+                .increment(records);
+    }
+
+    /**
+     * Records a warehouse file load that could not read the file.
+     *
+     * @param reload whether the load was an incremental reload
+     * @param elapsedNanos time spent before the load failed
+     */
+    public void recordLoadFailure(final boolean reload, final long elapsedNanos) {
+        loadTimer(reload, "failure").record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts the invalid warehouses and failed fields of a validated batch.
+     *
+     * @param source where the batch came from, e.g. file or ingest
+     * @param summary validation outcome of the batch
+     */
+    public void recordValidation(final String source, final ValidationSummary<WarehouseDTOPatterns> summary) {
+        if (summary.isValid()) {
+            return;
+        }
+        invalidCounter(source).increment(summary.invalid());
+        summary.failuresByField().forEach((field, count) -> failureCounter(source, field).increment(count));
+    }
+
+    /**
+     * Counts a single warehouse that failed validation. Valid results are ignored.
+     *
+     * @param source where the warehouse came from, e.g. api
+     * @param result validation outcome of the warehouse
+     */
+    public void recordValidation(final String source, final ValidationResult<WarehouseDTOPatterns> result) {
+        if (result.isValid()) {
+            return;
+        }
+        invalidCounter(source).increment();
+        for (final WarehouseDTOPatterns field : result.failedFields()) {
+            failureCounter(source, field).increment();
+        }
+    }
+
+    /**
+     * @param type lookup type
+     * @param dto whether the lookup returns DTO projections rather than entities
+     * @return the timer for lookups of that type
+     */
+    public Timer lookupTimer(final WarehouseLookupType type, final boolean dto) {
+        return (dto ? dtoLookups : entityLookups).get(type);
+    }
+
+    public void recordRejectedLookup() {
+        rejectedLookups.increment();
+    }
+
+    private Timer lookupTimer(final WarehouseLookupType type, final String projection) {
+        return Timer.builder(LOOKUP)
+                .description("Warehouse lookups")
+                .tag("type", type.tag())
+                .tag("projection", projection)
+                .register(registry);
+    }
+
+    private Timer loadTimer(final boolean reload, final String outcome) {
+        return Timer.builder(CACHE_LOAD)
+                .description("Warehouse file loads")
+                .tag("mode", mode(reload))
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private Counter invalidCounter(final String source) {
+        return Counter.builder(VALIDATION_INVALID)
+                .description("Warehouses that failed validation")
+                .tag("source", source)
+                .register(registry);
+    }
+
+    private Counter failureCounter(final String source, final WarehouseDTOPatterns field) {
+        return Counter.builder(VALIDATION_FAILURES)
+                .description("Warehouse fields that failed validation")
+                .tag("source", source)
+                .tag("field", field.fieldName())
+                .register(registry);
+    }
+
+    // NaN before the first request, where Caffeine would report a perfect hit rate
+    private static double hitRatio(final Cache<?, ?> cache) {
+        final CacheStats stats = cache.stats();
+        return stats.requestCount() == 0 ? Double.NaN : stats.hitRate();
+    }
+
+    private static String mode(final boolean reload) {
+        return reload ? "reload" : "full";
+    }
+}
@@ -0,0 +1,328 @@
+package com.training.callum.whoms.service;
+
+import com.training.callum.whoms.domain.ValidationSummary;
+import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.domain.WarehouseDTOPatterns;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+
+/**
+ * Binary snapshot of the validated warehouse cache, read back through a memory mapping on the next start
+ * instead of parsing and validating the JSON source again.
+ *
+ * Layout, big-endian:
+ * - header: magic {@code WHSN}, format version, source length, source CRC-32C, record count,
+ *   payload length and payload CRC-32C
+ * - payload: the validation summary of the source as the number of validated and invalid warehouses,
+ *   the number of validated fields and the failure count of each field as longs; then per warehouse the
+ *   six string fields, each as an int byte length (-1 for null) followed by UTF-8 bytes, then square
+ *   footage and loading docks as ints
+ *
+ * A snapshot is only used when its format version is current, its payload checksum is intact and it was
+ * written from a source with the same length and checksum; otherwise the caller falls back to the source.
+ * Snapshots are written to a temporary file and moved into place, so a reader never maps a partial file.
+ * The whole file is mapped as one buffer, so a snapshot that would exceed {@value #MAX_SNAPSHOT_BYTES}
+ * bytes is not written at all and the source is parsed on every start instead.
+ */
+final class WarehouseSnapshotFile {
+
+    private static final Logger log = LoggerFactory.getLogger(WarehouseSnapshotFile.class);
+
+    private static final int MAGIC = 0x5748534E; // "WHSN"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4 + 8 + 4;
+    private static final long MAX_SNAPSHOT_BYTES = Integer.MAX_VALUE;
+    private static final WarehouseDTOPatterns[] FIELDS = WarehouseDTOPatterns.values();
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+    private static final int NULL_LENGTH = -1;
+
+    /**
+     * Identity of the source a snapshot was written from.
+     *
+     * @param length source size in bytes
+     * @param crc CRC-32C of the source bytes
+     */
+    record SourceFingerprint(long length, int crc) {
+
+        /**
+         * Reads the whole resource once to fingerprint it; far cheaper than parsing and validating it.
+         */
+        static SourceFingerprint of(final Resource resource) throws IOException {
+            try (FingerprintingInputStream in = new FingerprintingInputStream(resource.getInputStream())) {
+                return in.finish();
+            }
+        }
+    }
+
+    /**
+     * Stream that fingerprints the bytes read through it, so the source can be fingerprinted while it is
+     * parsed rather than in a separate pass.
+     */
+    static final class FingerprintingInputStream extends CheckedInputStream {
+
+        private long length;
+
+        FingerprintingInputStream(final InputStream in) {
+            super(in, new CRC32C());
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                length++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int count) throws IOException {
+            final int read = super.read(buffer, offset, count);
+            if (read > 0) {
+                length += read;
+            }
+            return read;
+        }
+
+        /**
+         * Reads whatever the consumer left unread, such as trailing whitespace, and fingerprints the whole source.
+         */
+        SourceFingerprint finish() throws IOException {
+            transferTo(OutputStream.nullOutputStream());
+            return new SourceFingerprint(length, (int) getChecksum().getValue());
+        }
+    }
+
+    /**
+     * Warehouses restored from a snapshot.
+     *
+     * @param warehouses the warehouses in source order
+     * @param validation validation summary of the source when the snapshot was written
+     */
+    record Restored(ArrayList<WarehouseDTO> warehouses, ValidationSummary<WarehouseDTOPatterns> validation) {
+    }
+
+    private WarehouseSnapshotFile() {
+        // prevent instantiation
+    }
+
+    /**
+     * Maps a snapshot and decodes its warehouses when it is intact and matches the source.
+     *
+     * @param file snapshot file
+     * @param source fingerprint of the current source
+     * @return the warehouses in source order and their validation summary, or empty when there is no
+     *         usable snapshot
+     */
+    static Optional<Restored> read(final Path file, final SourceFingerprint source) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_BYTES || size > MAX_SNAPSHOT_BYTES) {
+                log.info("Ignoring warehouse snapshot {} of unusable size {}", file, size);
+                return Optional.empty();
+            }
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (mapped.getInt() != MAGIC || mapped.getInt() != VERSION) {
+                log.info("Ignoring warehouse snapshot {} written in another format", file);
+                return Optional.empty();
+            }
+            if (mapped.getLong() != source.length() || mapped.getInt() != source.crc()) {
+                log.info("Warehouse snapshot {} is stale, the source has changed", file);
+                return Optional.empty();
+            }
+            final int records = mapped.getInt();
+            final long payloadLength = mapped.getLong();
+            final int payloadCrc = mapped.getInt();
+            if (records < 0 || payloadLength != size - HEADER_BYTES) {
+                log.warn("Ignoring truncated warehouse snapshot {}", file);
+                return Optional.empty();
+            }
+            final CRC32C crc = new CRC32C();
+            crc.update(mapped.slice());
+            if ((int) crc.getValue() != payloadCrc) {
+                log.warn("Ignoring corrupt warehouse snapshot {}", file);
+                return Optional.empty();
+            }
+
+            final ValidationSummary<WarehouseDTOPatterns> validation = readValidation(mapped);
+            if (validation == null) {
+                log.info("Ignoring warehouse snapshot {} written for other validated fields", file);
+                return Optional.empty();
+            }
+            final ArrayList<WarehouseDTO> warehouses = new ArrayList<>(records);
+            byte[] scratch = new byte[256];
+            for (int i = 0; i < records; i++) {
+                final String[] fields = new String[6];
+                for (int f = 0; f < fields.length; f++) {
+                    final int length = mapped.getInt();
+                    if (length == NULL_LENGTH) {
+                        continue;
+                    }
+                    if (length > scratch.length) {
+                        scratch = new byte[Math.max(length, scratch.length * 2)];
+                    }
+                    mapped.get(scratch, 0, length);
+                    fields[f] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                }
+                warehouses.add(new WarehouseDTO(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5],
+                        mapped.getInt(), mapped.getInt()));
+            }
+            return Optional.of(new Restored(warehouses, validation));
+        } catch (final NoSuchFileException e) {
+            log.debug("No warehouse snapshot at {}", file);
+            return Optional.empty();
+        } catch (final IOException | BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            log.warn("Cannot read warehouse snapshot {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes a snapshot of validated warehouses, replacing any previous snapshot atomically. When the
+     * snapshot would be too large to map, any previous snapshot is deleted and nothing is written.
+     *
+     * @param file snapshot file
+     * @param source fingerprint of the source the warehouses were loaded from
+     * @param validation validation summary of the warehouses
+     * @param warehouses warehouses in source order
+     * @return whether the snapshot was written
+     */
+    static boolean write(final Path file, final SourceFingerprint source,
+                         final ValidationSummary<WarehouseDTOPatterns> validation,
+                         final List<WarehouseDTO> warehouses) throws IOException {
+        final Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                final CRC32C crc = new CRC32C();
+                final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+                long payloadLength = putValidation(buffer, validation);
+                channel.position(HEADER_BYTES);
+                for (final WarehouseDTO warehouse : warehouses) {
+                    if (HEADER_BYTES + payloadLength > MAX_SNAPSHOT_BYTES) {
+                        Files.deleteIfExists(file);
+                        return false;
+                    }
+                    payloadLength += putString(channel, buffer, crc, warehouse.name());
+                    payloadLength += putString(channel, buffer, crc, warehouse.address());
+                    payloadLength += putString(channel, buffer, crc, warehouse.city());
+                    payloadLength += putString(channel, buffer, crc, warehouse.state());
+                    payloadLength += putString(channel, buffer, crc, warehouse.postalCode());
+                    payloadLength += putString(channel, buffer, crc, warehouse.warehousePhone());
+                    ensureRoom(channel, buffer, crc, 8);
+                    buffer.putInt(warehouse.squareFootage()).putInt(warehouse.loadingDocks());
+                    payloadLength += 8;
+                }
+                if (HEADER_BYTES + payloadLength > MAX_SNAPSHOT_BYTES) {
+                    Files.deleteIfExists(file);
+                    return false;
+                }
+                drain(channel, buffer, crc);
+
+                buffer.clear();
+                buffer.putInt(MAGIC).putInt(VERSION)
+                        .putLong(source.length()).putInt(source.crc())
+                        .putInt(warehouses.size()).putLong(payloadLength).putInt((int) crc.getValue());
+                buffer.flip();
+                channel.write(buffer, 0);
+                channel.force(false);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    // the buffer is empty here, so the summary always fits in front of the first warehouse
+    private static int putValidation(final ByteBuffer buffer, final ValidationSummary<WarehouseDTOPatterns> validation) {
+        buffer.putLong(validation.validated()).putLong(validation.invalid()).putInt(FIELDS.length);
+        for (final WarehouseDTOPatterns field : FIELDS) {
+            buffer.putLong(validation.failuresByField().getOrDefault(field, 0L));
+        }
+        return 8 + 8 + 4 + 8 * FIELDS.length;
+    }
+
+    /**
+     * @return the validation summary at the start of the payload, or null when it counts other fields
+     */
+    private static ValidationSummary<WarehouseDTOPatterns> readValidation(final ByteBuffer mapped) {
+        final long validated = mapped.getLong();
+        final long invalid = mapped.getLong();
+        if (mapped.getInt() != FIELDS.length) {
+            return null;
+        }
+        final Map<WarehouseDTOPatterns, Long> byField = new EnumMap<>(WarehouseDTOPatterns.class);
+        for (final WarehouseDTOPatterns field : FIELDS) {
+            final long failures = mapped.getLong();
+            if (failures > 0) {
+                byField.put(field, failures);
+            }
+        }
+        return new ValidationSummary<>(validated, invalid, Collections.unmodifiableMap(byField));
+    }
+
+    private static int putString(final FileChannel channel, final ByteBuffer buffer, final CRC32C crc,
+                                 final String value) throws IOException {
+        if (value == null) {
+            ensureRoom(channel, buffer, crc, 4);
+            buffer.putInt(NULL_LENGTH);
+            return 4;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureRoom(channel, buffer, crc, 4 + bytes.length);
+        buffer.putInt(bytes.length);
+        if (bytes.length <= buffer.remaining()) {
+            buffer.put(bytes);
+        } else {
+            // longer than the whole buffer: write it directly after what is buffered
+            drain(channel, buffer, crc);
+            crc.update(bytes);
+            final ByteBuffer direct = ByteBuffer.wrap(bytes);
+            while (direct.hasRemaining()) {
+                channel.write(direct);
+            }
+        }
+        return 4 + bytes.length;
+    }
+
+    private static void ensureRoom(final FileChannel channel, final ByteBuffer buffer, final CRC32C crc,
+                                   final int bytes) throws IOException {
+        if (buffer.remaining() < Math.min(bytes, buffer.capacity())) {
+            drain(channel, buffer, crc);
+        }
+    }
+
+    private static void drain(final FileChannel channel, final ByteBuffer buffer, final CRC32C crc)
+            throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
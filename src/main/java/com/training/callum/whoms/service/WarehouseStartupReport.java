@@ -0,0 +1,63 @@
+package com.training.callum.whoms.service;
+
+import com.training.callum.whoms.config.StartupProperties;
+import java.lang.management.ManagementFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports how long after JVM start the application became able to serve warehouses.
+ *
+ * Spring's own "Started ... in" line is logged before the background cache warm-up finishes, so it
+ * leaves out the largest part of startup. This line is logged once both the context is ready and the
+ * warm-up has finished, and is what the startup-time measurement reads. With startup.exit-when-ready the
+ * application then shuts down, which ends training runs at the point everything startup needs is loaded.
+ */
+@Component
+public class WarehouseStartupReport {
+
+    private static final Logger log = LoggerFactory.getLogger(WarehouseStartupReport.class);
+
+    private final WarehouseCacheWarmUp warmUp;
+    private final WarehouseDTOCacheService cacheService;
+    private final StartupProperties startupProperties;
+
+    public WarehouseStartupReport(
+            final WarehouseCacheWarmUp warmUp,
+            final WarehouseDTOCacheService cacheService,
+            final StartupProperties startupProperties) {
+        this.warmUp = warmUp;
+        this.cacheService = cacheService;
+        this.startupProperties = startupProperties;
+    }
+
+    /**
+     * Logs the ready time once the warm-up has finished and exits when startup.exit-when-ready is set.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(final ApplicationReadyEvent event) {
+        warmUp.whenFinished(() -> {
+            final long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+            final boolean loaded = cacheService.isLoaded();
+            if (loaded) {
+                log.info("Ready with {} warehouses {} ms after JVM start",
+                        cacheService.size(), uptimeMillis);
+            } else {
+                log.warn("Ready without warehouses {} ms after JVM start, the cache failed to load", uptimeMillis);
+            }
+            if (startupProperties.exitWhenReady()) {
+                exit(event.getApplicationContext(), loaded ? 0 : 1);
+            }
+        });
+    }
+
+    private static void exit(final ApplicationContext context, final int status) {
+        log.info("Exiting with status {} because startup.exit-when-ready is set", status);
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+}
@@ -0,0 +1,63 @@
+package com.training.callum.service;
+
+import com.training.callum.whoms.config.InputProperties;
+import com.training.callum.whoms.domain.EmployeeDTO;
+import com.training.callum.whoms.service.EmployeeCacheService;
+import com.training.callum.whoms.service.ExtDataValidationService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for EmployeeCacheService:
+ * - only employees that pass validation are cached; invalid and malformed rows are dropped
+ * - a missing employee file leaves the cache empty
+ */
+class EmployeeCacheServiceTest {
+
+    private static final String CSV = "firstName,lastName,itin,mobileNumber,personalEmail,dateOfBirth\n"
+            + "Phineas,Nezey,166-11-7121,965-973-5070,pnezey0@domainmarket.com,05/25/1981\n"
+            + "Bad,Itin,1661-17121,965-973-5070,bad.itin@example.com,05/25/1981\n"
+            + "Too,Few,Fields\n"
+            + "Bad,Email,222-33-4444,404-555-0199,not-an-email,12/01/1975\n"
+            + "Timi,O'Carroll,222-33-4444,404-555-0199,tocarroll@example.org,12/01/1975\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldCacheOnlyValidEmployees_whenFileHasInvalidRows() throws Exception {
+        Path file = tempDir.resolve("employees.csv");
+        Files.writeString(file, CSV, StandardCharsets.UTF_8);
+        EmployeeCacheService service = service("file:" + file);
+
+        service.loadEmployees();
+
+        List<String> names = service.getEmployees().stream().map(EmployeeDTO::lastName).toList();
+        assertEquals(List.of("Nezey", "O'Carroll"), names);
+    }
+
+    @Test
+    void shouldLeaveCacheEmpty_whenFileIsMissing() {
+        EmployeeCacheService service = service("file:" + tempDir.resolve("missing.csv"));
+
+        service.loadEmployees();
+
+        assertTrue(service.getEmployees().isEmpty());
+    }
+
+    private static EmployeeCacheService service(final String employees) {
+        InputProperties inputProperties = new InputProperties(new InputProperties.File(
+                null, employees, 20, 1, Duration.ZERO, null, InputProperties.Store.HEAP));
+        return new EmployeeCacheService(inputProperties, new DefaultResourceLoader(), new ExtDataValidationService());
+    }
+}
@@ -0,0 +1,68 @@
+package com.training.callum.service;
+
+import com.training.callum.whoms.domain.EmployeeDTO;
+import com.training.callum.whoms.service.EmployeeCsvParser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for EmployeeCsvParser:
+ * - header is skipped, CRLF and a missing final newline are tolerated
+ * - malformed rows are rejected without stopping the parse
+ * - rows spanning read buffer boundaries are reassembled, for both channel and mapped input
+ */
+class EmployeeCsvParserTest {
+
+    private static final String CSV = "firstName,lastName,itin,mobileNumber,personalEmail,dateOfBirth\r\n"
+            + "Phineas,Nezey,166-11-7121,965-973-5070,pnezey0@domainmarket.com,05/25/1981\r\n"
+            + "Brunhilda,Van der Mark,469-93-0397,236-245-1132,bvandermark@multiply.com,03/17/2000\n"
+            + "\n"
+            + "Too,Few,Fields\n"
+            + "Bad,Date,111-22-3333,236-245-1132,bad@date.com,02/30/1999\n"
+            + "Timi,O'Carroll,222-33-4444,404-555-0199,tocarroll@example.org,12/01/1975";
+
+    @Test
+    void shouldParseRowsAndRejectMalformed_whenReadingThroughSmallBuffer() throws Exception {
+        List<EmployeeDTO> employees = new ArrayList<>();
+
+        // an 8 byte buffer forces every row to be carried over and the buffer to grow
+        EmployeeCsvParser.Summary summary = new EmployeeCsvParser(8).parse(
+                Channels.newChannel(new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8))), employees::add);
+
+        assertExpectedEmployees(summary, employees);
+    }
+
+    @Test
+    void shouldParseRowsAndRejectMalformed_whenFileIsMemoryMapped(@TempDir Path dir) throws Exception {
+        Path file = Files.writeString(dir.resolve("employees.csv"), CSV);
+        List<EmployeeDTO> employees = new ArrayList<>();
+
+        EmployeeCsvParser.Summary summary;
+        try (FileChannel channel = FileChannel.open(file)) {
+            summary = new EmployeeCsvParser().parseMapped(channel, employees::add);
+        }
+
+        assertExpectedEmployees(summary, employees);
+    }
+
+    private static void assertExpectedEmployees(EmployeeCsvParser.Summary summary, List<EmployeeDTO> employees) {
+        assertEquals(new EmployeeCsvParser.Summary(3, 2), summary);
+        assertEquals(new EmployeeDTO("Phineas", "Nezey", "166-11-7121", "965-973-5070",
+                "pnezey0@domainmarket.com", LocalDate.of(1981, 5, 25)), employees.get(0));
+        assertEquals("Van der Mark", employees.get(1).lastName());
+        assertEquals(LocalDate.of(1975, 12, 1), employees.get(2).dateOfBirth());
+    }
+}
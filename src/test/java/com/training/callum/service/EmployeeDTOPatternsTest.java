@@ -0,0 +1,48 @@
+package com.training.callum.service;
+
+import com.training.callum.whoms.domain.EmployeeDTOPatterns;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.training.callum.service.PatternScannerAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the compiled scanners of EmployeeDTOPatterns:
+ * - every scanner must accept exactly the inputs its regex accepts
+ * - checked on hand-picked edge cases and on seeded random strings drawn from the characters the rules care about
+ */
+class EmployeeDTOPatternsTest {
+
+    private static final List<String> EDGE_CASES = List.of(
+            "", " ", "A", "ab", "O'Brien", "Smith-Jones", "Mary Ann", "O''Brien", "-Smith", "Smith-", "Mary  Ann",
+            "D'Angelo-Smith Jr", "123-45-6789", "123-45-678", "123456789", "123-456-789", "(401) 555-0101",
+            "401.555.0101", "4015550101", "401) 555 0101", "a@b.co", "a@b.c", "john.doe+tag@mail.example.org",
+            "@b.co", "a@.co", "a@b..co", "a@b.co.", "a@b-c.c0", "a@@b.co", "a.b@c", "a@b.COM", "a@b.co\n",
+            "01/31/1990", "1/31/1990", "01-31-1990", "01/31/90", "A\n", "Émile", "Zoë");
+
+    private static final String ALPHABET = "aZ9 .,-'@/_%+()\t\n";
+
+    @Test
+    void shouldMatchLikeRegex_whenGivenEdgeCases() {
+        for (EmployeeDTOPatterns rule : EmployeeDTOPatterns.values()) {
+            for (String value : EDGE_CASES) {
+                assertEquivalent(rule, rule.getPattern(), rule::matches, value);
+            }
+            assertFalse(rule.matches(null), () -> rule + " must reject null");
+        }
+    }
+
+    @Test
+    void shouldMatchLikeRegex_whenGivenRandomInput() {
+        Random random = new Random(42);
+        for (EmployeeDTOPatterns rule : EmployeeDTOPatterns.values()) {
+            for (int i = 0; i < 20_000; i++) {
+                assertEquivalent(rule, rule.getPattern(), rule::matches, randomValue(random, ALPHABET));
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.training.callum.service;
+
+import com.training.callum.whoms.domain.EmployeeDTO;
+import com.training.callum.whoms.domain.EmployeeDTOPatterns;
+import com.training.callum.whoms.domain.ValidationResult;
+import com.training.callum.whoms.domain.ValidationSummary;
+import com.training.callum.whoms.domain.Warehouse;
+import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.domain.WarehouseDTOPatterns;
+import com.training.callum.whoms.service.ExtDataValidationService;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ExtDataValidationService warehouse and employee validation:
+ * - failed fields are reported in the returned result, with messages built on demand
+ * - entities and DTOs are validated by the same rules
+ * - a batch is reduced to per-field failure counts
+ * - employees are validated into a result and summary the same way, the date of birth must lie in the past
+ */
+class ExtDataValidationServiceTest {
+
+    private final ExtDataValidationService service = new ExtDataValidationService();
+
+    private static final WarehouseDTO VALID = new WarehouseDTO("Providence Distribution Center", "100 Harbor Way",
+            "Providence", "RI", "02903", "(401) 555-0101", 1500000, 15);
+
+    @Test
+    void shouldReportFailedFields_whenDtoIsInvalid() {
+        assertSame(ValidationResult.valid(WarehouseDTOPatterns.class), service.validate(VALID));
+
+        WarehouseDTO invalid = new WarehouseDTO("Providence Distribution Center", "100 Harbor Way",
+                "Providence", "ri", "2903", "(401) 555-0101", 1500000, 0);
+        ValidationResult<WarehouseDTOPatterns> result = service.validate(invalid);
+
+        assertFalse(result.isValid());
+        assertEquals(EnumSet.of(WarehouseDTOPatterns.STATE, WarehouseDTOPatterns.POSTAL_CODE,
+                WarehouseDTOPatterns.LOADING_DOCKS), result.failedFields());
+        assertEquals(List.of(
+                "state: " + WarehouseDTOPatterns.STATE.getErrorMessage(),
+                "postalCode: " + WarehouseDTOPatterns.POSTAL_CODE.getErrorMessage(),
+                "loadingDocks: " + WarehouseDTOPatterns.LOADING_DOCKS.getErrorMessage()), result.messages());
+        assertSame(result, service.validate(invalid), "expected results to be shared per failure set");
+
+        Warehouse entity = new Warehouse(invalid.name(), invalid.address(), invalid.city(), invalid.state(),
+                invalid.postalCode(), invalid.warehousePhone(), invalid.squareFootage(), invalid.loadingDocks());
+        assertSame(result, service.validateEntity(entity));
+    }
+
+    @Test
+    void shouldCountFailuresPerField_whenValidatingBatch() {
+        WarehouseDTO badPhone = new WarehouseDTO("Albany Hub", "1 State St", "Albany", "NY", "12207",
+                "555-01", 20000, 10);
+        WarehouseDTO badPhoneAndName = new WarehouseDTO("Hub 2", "1 State St", "Albany", "NY", "12207",
+                null, 20000, 10);
+
+        ValidationSummary<WarehouseDTOPatterns> summary =
+                service.validateAll(List.of(VALID, badPhone, badPhoneAndName, VALID));
+
+        assertEquals(4, summary.validated());
+        assertEquals(2, summary.invalid());
+        assertEquals(Map.of(WarehouseDTOPatterns.NAME, 1L, WarehouseDTOPatterns.WAREHOUSE_PHONE, 2L),
+                summary.failuresByField());
+        assertEquals("name=1, warehousePhone=2", summary.describeFailures());
+    }
+
+    @Test
+    void shouldReportFailedFields_whenEmployeeIsInvalid() {
+        EmployeeDTO valid = new EmployeeDTO("Mary-Ann", "O'Brien", "912-34-5678", "(401) 555-0101",
+                "mary.obrien@example.com", LocalDate.of(1990, 1, 31));
+        EmployeeDTO invalid = new EmployeeDTO("Mary-Ann", "O'Brien", "912345678", "(401) 555-0101",
+                "mary.obrien@example", LocalDate.now().plusDays(1));
+        assertSame(ValidationResult.valid(EmployeeDTOPatterns.class), service.validateEmployee(valid));
+        assertNotSame(ValidationResult.valid(WarehouseDTOPatterns.class), service.validateEmployee(valid),
+                "expected each field enum to have results of its own");
+
+        ValidationResult<EmployeeDTOPatterns> result = service.validateEmployee(invalid);
+
+        assertEquals(EnumSet.of(EmployeeDTOPatterns.ITIN, EmployeeDTOPatterns.PERSONAL_EMAIL,
+                EmployeeDTOPatterns.DATE_OF_BIRTH), result.failedFields());
+        assertEquals("itin: " + EmployeeDTOPatterns.ITIN.getErrorMessage(), result.messages().get(0));
+        assertSame(result, service.validateEmployee(invalid), "expected results to be shared per failure set");
+
+        ValidationSummary<EmployeeDTOPatterns> summary = new ValidationSummary.Accumulator<>(EmployeeDTOPatterns.class)
+                .add(service.validateEmployee(valid))
+                .add(result)
+                .add(service.validateEmployee(new EmployeeDTO(null, "Smith", "912-34-5678", "4015550101",
+                        "j@example.org", null)))
+                .toSummary();
+        assertEquals(3, summary.validated());
+        assertEquals(2, summary.invalid());
+        assertEquals("firstName=1, itin=1, personalEmail=1, dateOfBirth=2", summary.describeFailures());
+    }
+}
@@ -0,0 +1,47 @@
+package com.training.callum.service;
+
+import com.training.callum.whoms.config.GlobalExceptionHandler;
+import com.training.callum.whoms.domain.ErrorResponseDTO;
+import com.training.callum.whoms.service.InvalidRequestException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for GlobalExceptionHandler:
+ * - invalid request parameters are answered with 400
+ * - any other IllegalArgumentException is a fault of the service and answered with 500
+ */
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final ExceptionHandlerMethodResolver resolver = new ExceptionHandlerMethodResolver(GlobalExceptionHandler.class);
+
+    @Test
+    void shouldAnswerBadRequest_whenRequestParameterIsInvalid() throws Exception {
+        ResponseEntity<?> response = handle(new InvalidRequestException("Invalid cursor: %%%"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), ((ErrorResponseDTO) response.getBody()).errorCode());
+    }
+
+    @Test
+    void shouldAnswerServerError_whenOtherIllegalArgumentEscapes() throws Exception {
+        ResponseEntity<?> response = handle(new IllegalArgumentException("Chunk size must be positive: 0"));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+
+    // resolves the handler method the way Spring MVC does, so the test covers the mapping, not just the method
+    private ResponseEntity<?> handle(final Exception ex) throws Exception {
+        Method method = resolver.resolveMethod(ex);
+        assertNotNull(method, () -> "no handler for " + ex);
+        return (ResponseEntity<?>) method.invoke(handler, ex);
+    }
+}
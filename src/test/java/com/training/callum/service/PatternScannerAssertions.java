@@ -0,0 +1,55 @@
+package com.training.callum.service;
+
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Shared by the tests of the DTO pattern enums, whose compiled scanners must accept exactly the inputs
+ * their regexes accept:
+ * - generates seeded random candidates biased towards values the rules accept
+ * - compares a scanner with its regex on one value
+ */
+final class PatternScannerAssertions {
+
+    private PatternScannerAssertions() {
+    }
+
+    /**
+     * Mostly short strings biased towards digits and letters, so that valid values are generated as well,
+     * mixed with characters drawn from the given alphabet.
+     *
+     * @param random seeded source, so failures reproduce
+     * @param alphabet the characters the rules under test care about
+     * @return a candidate value
+     */
+    static String randomValue(final Random random, final String alphabet) {
+        int length = random.nextInt(15);
+        StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            int pick = random.nextInt(10);
+            if (pick < 4) {
+                value.append((char) ('0' + random.nextInt(10)));
+            } else if (pick < 7) {
+                value.append(random.nextBoolean() ? (char) ('A' + random.nextInt(26)) : (char) ('a' + random.nextInt(26)));
+            } else {
+                value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+        }
+        return value.toString();
+    }
+
+    /**
+     * @param rule the rule under test, named in the failure message
+     * @param regex the rule's specification
+     * @param scanner the rule's compiled scanner
+     * @param value the value to check
+     */
+    static void assertEquivalent(final Object rule, final Pattern regex, final Predicate<CharSequence> scanner,
+                                 final String value) {
+        boolean expected = regex.matcher(value).matches();
+        assertEquals(expected, scanner.test(value), () -> rule + " disagrees with its regex for \"" + value + "\"");
+    }
+}
@@ -0,0 +1,164 @@
+package com.training.callum.service;
+
+import com.training.callum.whoms.WarehouseOperationsManagementApplication;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test comparing request handling on Tomcat's platform-thread pool with the "virtual" profile.
+ *
+ * Each run starts the application on a random port with the bounded warehouse store and the lookup
+ * caches disabled, so every request blocks on a JDBC query, and fires the same burst of concurrent
+ * searches at it. The load writes the warehouse file through to the database before readiness reports UP,
+ * and the bursts only start once a search finds the first warehouse. The report lists
+ * throughput and latency percentiles per mode. Excluded from the regular build; run with
+ * {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+class RequestThreadingLoadTest {
+
+    private static final int CLIENTS = 1000;
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+    private static final List<String> KEYS = List.of(
+            "Providence%20Distribution%20Center", "02903", "(518)%20555-0201", "Albany%20Regional%20Warehouse");
+
+    @Test
+    void shouldServeConcurrentSearches_onPlatformAndVirtualThreads() throws Exception {
+        LoadReport platform = run("platform");
+        LoadReport virtual = run("virtual");
+
+        System.out.println(LoadReport.HEADER);
+        System.out.println(platform);
+        System.out.println(virtual);
+        assertEquals(0, platform.failures(), "platform-thread run had failed requests");
+        assertEquals(0, virtual.failures(), "virtual-thread run had failed requests");
+    }
+
+    private static LoadReport run(final String profile) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                WarehouseOperationsManagementApplication.class)
+                .profiles(profile)
+                // arguments rather than default properties, which application.properties would override
+                .run("--server.port=0",
+                        "--spring.cache.type=none",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.org.springframework.web=INFO",
+                        "--input.file.reload-interval=0s",
+                        "--input.file.store=bounded",
+                        "--ingest.sync-on-load=true")) {
+            String root = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String base = root + "/whoms/v2/warehouses/search?key=";
+            awaitReady(root, base);
+            // warm up the server and the JIT before measuring
+            burst(base, 100, 10);
+            return burst(base, CLIENTS, REQUESTS_PER_CLIENT).named(profile);
+        }
+    }
+
+    // readiness turns UP once the load has been written through; a first hit confirms the searches see it
+    private static void awaitReady(final String root, final String base) throws Exception {
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        try (HttpClient http = HttpClient.newHttpClient()) {
+            for (URI probe : List.of(URI.create(root + "/actuator/health/readiness"), URI.create(base + KEYS.get(0)))) {
+                while (http.send(HttpRequest.newBuilder(probe).build(), HttpResponse.BodyHandlers.discarding())
+                        .statusCode() != 200) {
+                    if (System.nanoTime() > deadline) {
+                        fail("Not ready within " + READY_TIMEOUT + ": " + probe);
+                    }
+                    Thread.sleep(100);
+                }
+            }
+        }
+    }
+
+    private static LoadReport burst(final String base, final int clients, final int requestsPerClient)
+            throws Exception {
+        long[] latencies = new long[clients * requestsPerClient];
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        HttpRequest request = HttpRequest.newBuilder(
+                                URI.create(base + KEYS.get((client + r) % KEYS.size())))
+                                .timeout(Duration.ofSeconds(30))
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[client * requestsPerClient + r] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return LoadReport.of(latencies, System.nanoTime() - started, failures.get());
+        }
+    }
+
+    private record LoadReport(String mode, int requests, int failures, double perSecond,
+                              double p50Millis, double p99Millis, double maxMillis) {
+
+        static final String HEADER = String.format("%-10s %9s %8s %10s %9s %9s %9s",
+                "mode", "requests", "failed", "req/s", "p50 ms", "p99 ms", "max ms");
+
+        static LoadReport of(final long[] latencies, final long elapsedNanos, final int failures) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return new LoadReport("", sorted.length, failures,
+                    sorted.length * 1_000_000_000d / elapsedNanos,
+                    millis(sorted[(int) (sorted.length * 0.50)]),
+                    millis(sorted[(int) (sorted.length * 0.99)]),
+                    millis(sorted[sorted.length - 1]));
+        }
+
+        LoadReport named(final String name) {
+            return new LoadReport(name, requests, failures, perSecond, p50Millis, p99Millis, maxMillis);
+        }
+
+        private static double millis(final long nanos) {
+            return nanos / 1_000_000d;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %9d %8d %10.0f %9.2f %9.2f %9.2f",
+                    mode, requests, failures, perSecond, p50Millis, p99Millis, maxMillis);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.training.callum.service;
+
+import com.training.callum.whoms.tools.StartupTimer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for StartupTimer:
+ * - the ready time is read from the line WarehouseStartupReport logs, and only from that line
+ * - runs are summarized by median, min and max, with each median compared to the first mode
+ */
+class StartupTimerTest {
+
+    @Test
+    void shouldReadReadyTime_whenLineIsTheReadyLine() {
+        String line = "2026-10-18T04:00:38.590Z  INFO 12177 --- [warehouse-management-service] [e-cache-warm-up] "
+                + "c.t.c.w.s.WarehouseStartupReport         : Ready with 200000 warehouses 15073 ms after JVM start";
+
+        assertEquals(OptionalLong.of(15073), StartupTimer.readyMillis(line));
+        assertTrue(StartupTimer.readyMillis("Started WarehouseOperationsManagementApplication in 12.681 seconds").isEmpty());
+        assertTrue(StartupTimer.readyMillis("Ready without warehouses 900 ms after JVM start, the cache failed to load").isEmpty());
+    }
+
+    @Test
+    void shouldSummarizeRuns_whenResultsAreReported() {
+        StartupTimer.Result plain = new StartupTimer.Result("plain", new long[] {3200, 3000, 3100});
+        StartupTimer.Result optimized = new StartupTimer.Result("optimized", new long[] {1600, 1400, 1500, 1700});
+
+        assertEquals(3100, plain.median());
+        assertEquals(3000, plain.min());
+        assertEquals(3200, plain.max());
+        assertEquals(1550, optimized.median());
+
+        String report = StartupTimer.report(List.of(plain, optimized));
+        assertTrue(report.contains("1.00x"), report);
+        assertTrue(report.contains("2.00x"), report);
+    }
+}
@@ -0,0 +1,111 @@
+package com.training.callum.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.training.callum.whoms.domain.EmployeeDTO;
+import com.training.callum.whoms.domain.EmployeeDTOPatterns;
+import com.training.callum.whoms.domain.ValidationSummary;
+import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.domain.WarehouseDTOPatterns;
+import com.training.callum.whoms.service.EmployeeCsvParser;
+import com.training.callum.whoms.service.ExtDataValidationService;
+import com.training.callum.whoms.tools.SyntheticDataGenerator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SyntheticDataGenerator:
+ * - the same seed writes byte-identical files, a different seed does not
+ * - at a bad rate of zero every warehouse and employee passes validation and warehouse names are unique
+ * - at a non-zero bad rate roughly that fraction of records fails, each on one field
+ */
+class SyntheticDataGeneratorTest {
+
+    private static final int COUNT = 5_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldWriteIdenticalFiles_whenSeedIsTheSame() throws Exception {
+        write(new SyntheticDataGenerator(7, 0.05), "a");
+        write(new SyntheticDataGenerator(7, 0.05), "b");
+        write(new SyntheticDataGenerator(8, 0.05), "c");
+
+        for (String file : List.of("warehouses.json", "employees.csv")) {
+            byte[] first = Files.readAllBytes(directory.resolve("a").resolve(file));
+            assertArrayEquals(first, Files.readAllBytes(directory.resolve("b").resolve(file)), file);
+            assertFalse(Arrays.equals(first, Files.readAllBytes(directory.resolve("c").resolve(file))), file);
+        }
+    }
+
+    @Test
+    void shouldGenerateOnlyValidRecords_whenBadRateIsZero() throws Exception {
+        Path output = write(new SyntheticDataGenerator(42, 0.0), "valid");
+
+        List<WarehouseDTO> warehouses = readWarehouses(output);
+        ValidationSummary<WarehouseDTOPatterns> summary = new ExtDataValidationService().validateAll(warehouses);
+        assertEquals(COUNT, summary.validated());
+        assertTrue(summary.isValid(), summary::describeFailures);
+        Set<String> names = new HashSet<>();
+        warehouses.forEach(warehouse -> names.add(warehouse.name()));
+        assertEquals(COUNT, names.size());
+
+        ValidationSummary<EmployeeDTOPatterns> employees = validateEmployees(readEmployees(output));
+        assertEquals(COUNT, employees.validated());
+        assertTrue(employees.isValid(), employees::describeFailures);
+    }
+
+    @Test
+    void shouldBreakOneFieldOfRoughlyTheRequestedShare_whenBadRateIsSet() throws Exception {
+        Path output = write(new SyntheticDataGenerator(42, 0.1), "bad");
+
+        ValidationSummary<WarehouseDTOPatterns> summary = new ExtDataValidationService().validateAll(readWarehouses(output));
+        assertTrue(summary.invalid() > COUNT * 0.07 && summary.invalid() < COUNT * 0.13, () -> "invalid " + summary.invalid());
+        assertEquals(summary.invalid(), summary.failuresByField().values().stream().mapToLong(Long::longValue).sum());
+
+        ValidationSummary<EmployeeDTOPatterns> employees = validateEmployees(readEmployees(output));
+        assertTrue(employees.invalid() > COUNT * 0.07 && employees.invalid() < COUNT * 0.13,
+                () -> "invalid " + employees.invalid());
+        assertEquals(employees.invalid(), employees.failuresByField().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    private Path write(final SyntheticDataGenerator generator, final String name) throws Exception {
+        Path output = Files.createDirectories(directory.resolve(name));
+        generator.writeWarehouses(output.resolve("warehouses.json"), COUNT);
+        generator.writeEmployees(output.resolve("employees.csv"), COUNT);
+        return output;
+    }
+
+    private static List<WarehouseDTO> readWarehouses(final Path output) throws Exception {
+        return List.of(new ObjectMapper().readValue(output.resolve("warehouses.json").toFile(), WarehouseDTO[].class));
+    }
+
+    private static List<EmployeeDTO> readEmployees(final Path output) throws Exception {
+        List<EmployeeDTO> employees = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(output.resolve("employees.csv"))) {
+            EmployeeCsvParser.Summary summary = new EmployeeCsvParser().parseMapped(channel, employees::add);
+            assertEquals(0, summary.rejected());
+        }
+        return employees;
+    }
+
+    private static ValidationSummary<EmployeeDTOPatterns> validateEmployees(final List<EmployeeDTO> employees) {
+        ExtDataValidationService validationService = new ExtDataValidationService();
+        ValidationSummary.Accumulator<EmployeeDTOPatterns> validation =
+                new ValidationSummary.Accumulator<>(EmployeeDTOPatterns.class);
+        employees.forEach(employee -> validation.add(validationService.validateEmployee(employee)));
+        return validation.toSummary();
+    }
+}
@@ -0,0 +1,175 @@
+package com.training.callum.service;
+
+import com.training.callum.whoms.config.IngestProperties;
+import com.training.callum.whoms.domain.BulkPersistResult;
+import com.training.callum.whoms.domain.ValidationResult;
+import com.training.callum.whoms.domain.Warehouse;
+import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.domain.WarehouseDTOPatterns;
+import com.training.callum.whoms.domain.WarehouseRow;
+import com.training.callum.whoms.domain.WarehouseSyncResult;
+import com.training.callum.whoms.repository.WarehouseJpaRepository;
+import com.training.callum.whoms.service.ExtDataValidationService;
+import com.training.callum.whoms.service.WarehouseCacheSyncService;
+import com.training.callum.whoms.service.WarehouseDTOCacheService;
+import com.training.callum.whoms.service.WarehouseFileLoadedEvent;
+import com.training.callum.whoms.service.WarehouseLookupCache;
+import com.training.callum.whoms.service.WarehouseManagerService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for WarehouseCacheSyncService:
+ * - only missing or changed warehouses are written
+ * - cached warehouses that fail validation are neither inserted nor used to update a row
+ * - the first load of the warehouse file is written through with sync-on-startup, every load with sync-on-load
+ */
+@ExtendWith(MockitoExtension.class)
+class WarehouseCacheSyncServiceTest {
+
+    private static final WarehouseDTO PROVIDENCE = new WarehouseDTO("Providence Distribution Center",
+            "1234 Industrial Way", "Providence", "RI", "02903", "(401) 555-0101", 1500000, 15);
+    private static final WarehouseDTO ALBANY = new WarehouseDTO("Albany Regional Warehouse",
+            "5678 Commerce Blvd", "Albany", "NY", "12205", "(518) 555-0201", 600000, 36);
+    private static final WarehouseDTO NEWARK = new WarehouseDTO("Newark Logistics Hub",
+            "9012 Freight Avenue", "Newark", "NJ", "07102", "(973) 555-0301", 250000, 24);
+
+    @Mock
+    private WarehouseDTOCacheService cacheService;
+
+    @Mock
+    private WarehouseManagerService managerService;
+
+    @Mock
+    private ExtDataValidationService validationService;
+
+    @Mock
+    private WarehouseJpaRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private WarehouseLookupCache lookupCache;
+
+    private WarehouseCacheSyncService service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        lenient().when(validationService.validate(any(WarehouseDTO.class))).thenReturn(ValidationResult.valid(WarehouseDTOPatterns.class));
+        service = new WarehouseCacheSyncService(
+                cacheService, managerService, validationService, repository, new IngestProperties(100, true, false, false), transactionManager, lookupCache);
+    }
+
+    @Test
+    void shouldWriteNothing_whenDatabaseAlreadyMatchesCache() {
+        when(cacheService.getWarehouses()).thenReturn(List.of(PROVIDENCE, ALBANY));
+        when(repository.streamAllRows()).thenReturn(Stream.of(row(UUID.randomUUID(), PROVIDENCE), row(UUID.randomUUID(), ALBANY)));
+
+        WarehouseSyncResult result = service.synchronize();
+
+        assertEquals(new WarehouseSyncResult(0, 0, 2, 0, 0), result);
+        verifyNoInteractions(managerService);
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    void shouldInsertMissingAndUpdateChanged_whenCacheDiffersFromDatabase() {
+        UUID albanyId = UUID.randomUUID();
+        WarehouseDTO staleAlbany = new WarehouseDTO(ALBANY.name().toUpperCase(), ALBANY.address(), ALBANY.city(),
+                ALBANY.state(), ALBANY.postalCode(), ALBANY.warehousePhone(), 100000, 2);
+        Warehouse albanyEntity = new Warehouse(staleAlbany.name(), staleAlbany.address(), staleAlbany.city(),
+                staleAlbany.state(), staleAlbany.postalCode(), staleAlbany.warehousePhone(), 100000, 2);
+        albanyEntity.setId(albanyId);
+
+        when(cacheService.getWarehouses()).thenReturn(List.of(PROVIDENCE, ALBANY, NEWARK, PROVIDENCE));
+        when(repository.streamAllRows()).thenReturn(Stream.of(row(UUID.randomUUID(), PROVIDENCE), row(albanyId, staleAlbany)));
+        when(managerService.persistWarehouseDTOs(List.of(NEWARK))).thenReturn(new BulkPersistResult(1, 0, List.of()));
+        when(repository.findAllById(List.of(albanyId))).thenReturn(List.of(albanyEntity));
+
+        WarehouseSyncResult result = service.synchronize();
+
+        assertEquals(new WarehouseSyncResult(1, 1, 1, 1, 0), result);
+        assertEquals(ALBANY.name(), albanyEntity.getName());
+        assertEquals(600000, albanyEntity.getSquareFootage());
+        assertEquals(36, albanyEntity.getLoadingDocks());
+    }
+
+    @Test
+    void shouldSkipInvalidWarehouses_whenInsertingOrUpdating() {
+        WarehouseDTO invalidAlbany = new WarehouseDTO(ALBANY.name(), ALBANY.address(), ALBANY.city(), "New York",
+                ALBANY.postalCode(), ALBANY.warehousePhone(), ALBANY.squareFootage(), ALBANY.loadingDocks());
+        WarehouseDTO invalidNewark = new WarehouseDTO(NEWARK.name(), NEWARK.address(), NEWARK.city(), "New Jersey",
+                NEWARK.postalCode(), NEWARK.warehousePhone(), NEWARK.squareFootage(), NEWARK.loadingDocks());
+        ValidationResult<WarehouseDTOPatterns> invalid = ValidationResult.of(WarehouseDTOPatterns.class,
+                ValidationResult.bit(WarehouseDTOPatterns.STATE));
+        when(validationService.validate(invalidAlbany)).thenReturn(invalid);
+        when(validationService.validate(invalidNewark)).thenReturn(invalid);
+
+        when(cacheService.getWarehouses()).thenReturn(List.of(PROVIDENCE, invalidAlbany, invalidNewark));
+        when(repository.streamAllRows()).thenReturn(Stream.of(row(UUID.randomUUID(), PROVIDENCE), row(UUID.randomUUID(), ALBANY)));
+
+        WarehouseSyncResult result = service.synchronize();
+
+        assertEquals(new WarehouseSyncResult(0, 0, 1, 2, 0), result);
+        verifyNoInteractions(managerService);
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    void shouldSyncFirstLoad_whenSyncOnStartupIsEnabled() {
+        when(repository.streamAllRows()).thenReturn(Stream.of(row(UUID.randomUUID(), PROVIDENCE)));
+        when(managerService.persistWarehouseDTOs(List.of(NEWARK))).thenReturn(new BulkPersistResult(1, 0, List.of()));
+
+        service.onApplicationEvent(loaded(false, PROVIDENCE, NEWARK));
+        service.onApplicationEvent(loaded(true, PROVIDENCE, NEWARK, ALBANY));
+
+        verify(managerService).persistWarehouseDTOs(List.of(NEWARK));
+        verify(repository, times(1)).streamAllRows();
+        verify(cacheService, never()).getWarehouses();
+    }
+
+    @Test
+    void shouldSyncEveryLoad_onlyWhenSyncOnLoadIsEnabled() {
+        WarehouseCacheSyncService startupOnly = new WarehouseCacheSyncService(
+                cacheService, managerService, validationService, repository, new IngestProperties(100, false, false, false),
+                transactionManager, lookupCache);
+        when(cacheService.isBounded()).thenReturn(true);
+        startupOnly.onApplicationEvent(loaded(false, PROVIDENCE, NEWARK));
+        verifyNoInteractions(repository, managerService);
+
+        WarehouseCacheSyncService writeThrough = new WarehouseCacheSyncService(
+                cacheService, managerService, validationService, repository, new IngestProperties(100, false, true, false),
+                transactionManager, lookupCache);
+        when(repository.streamAllRows()).thenReturn(Stream.of(row(UUID.randomUUID(), PROVIDENCE)));
+        when(managerService.persistWarehouseDTOs(List.of(NEWARK))).thenReturn(new BulkPersistResult(1, 0, List.of()));
+
+        writeThrough.onApplicationEvent(loaded(true, PROVIDENCE, NEWARK));
+
+        verify(managerService).persistWarehouseDTOs(List.of(NEWARK));
+    }
+
+    private WarehouseFileLoadedEvent loaded(boolean reload, WarehouseDTO... warehouses) {
+        return new WarehouseFileLoadedEvent(cacheService, "classpath:warehouses.json", List.of(warehouses), reload);
+    }
+
+    private static WarehouseRow row(UUID id, WarehouseDTO dto) {
+        return new WarehouseRow(id, dto.name(), dto.address(), dto.city(), dto.state(), dto.postalCode(),
+                dto.warehousePhone(), dto.squareFootage(), dto.loadingDocks());
+    }
+}
@@ -0,0 +1,134 @@
+package com.training.callum.service;
+
+import com.training.callum.whoms.service.EmployeeCacheService;
+import com.training.callum.whoms.service.WarehouseCacheWarmUp;
+import com.training.callum.whoms.service.WarehouseDTOCacheService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for WarehouseCacheWarmUp:
+ * - the cache is loaded on a background thread and start() does not wait for it
+ * - health is OUT_OF_SERVICE while loading, UP once loaded and DOWN when the load failed
+ * - work registered with whenLoaded runs after a successful load and is skipped after a failed one
+ * - work registered with whenFinished runs either way
+ * - the employees are loaded on the same thread after the warehouses, whether or not those loaded
+ */
+@ExtendWith(MockitoExtension.class)
+class WarehouseCacheWarmUpTest {
+
+    @Mock
+    private WarehouseDTOCacheService cacheService;
+
+    @Mock
+    private EmployeeCacheService employeeCacheService;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicBoolean loaded = new AtomicBoolean();
+    private WarehouseCacheWarmUp warmUp;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cacheService.isLoaded()).thenAnswer(invocation -> loaded.get());
+        warmUp = new WarehouseCacheWarmUp(cacheService, employeeCacheService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        warmUp.stop();
+    }
+
+    @Test
+    void shouldReportOutOfServiceThenUp_whenLoadFinishesInBackground() throws Exception {
+        CountDownLatch actionRan = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            loaded.set(true);
+            return null;
+        }).when(cacheService).loadWarehouseDtos();
+
+        warmUp.start();
+        warmUp.whenLoaded(actionRan::countDown);
+
+        assertEquals(Status.OUT_OF_SERVICE, warmUp.health().getStatus());
+        assertEquals(1, actionRan.getCount(), "expected the action to wait for the load");
+
+        release.countDown();
+        assertTrue(actionRan.await(5, TimeUnit.SECONDS), "expected the action to run once loaded");
+        assertEquals(Status.UP, warmUp.health().getStatus());
+        assertEquals(0, warmUp.health().getDetails().get("warehouses"));
+        verify(cacheService).loadWarehouseDtos();
+        verify(employeeCacheService, timeout(5000)).loadEmployees();
+    }
+
+    @Test
+    void shouldLoadEmployeesAfterWarehouses_whenWarehouseLoadFails() {
+        doThrow(new IllegalStateException("disk on fire")).when(cacheService).loadWarehouseDtos();
+
+        warmUp.start();
+
+        verify(employeeCacheService, timeout(5000)).loadEmployees();
+        InOrder order = inOrder(cacheService, employeeCacheService);
+        order.verify(cacheService).loadWarehouseDtos();
+        order.verify(employeeCacheService).loadEmployees();
+    }
+
+    @Test
+    void shouldReportDownAndSkipWaitingWork_whenLoadFails() throws Exception {
+        CountDownLatch finished = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            finished.countDown();
+            throw new IllegalStateException("disk on fire");
+        }).when(cacheService).loadWarehouseDtos();
+        AtomicBoolean actionRan = new AtomicBoolean();
+
+        warmUp.start();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        warmUp.whenLoaded(() -> actionRan.set(true));
+        CountDownLatch finishedActionRan = new CountDownLatch(1);
+        warmUp.whenFinished(finishedActionRan::countDown);
+
+        // registered around the time the warm-up finishes; either way the action must not run
+        awaitStatus(Status.DOWN);
+        assertTrue(finishedActionRan.await(5, TimeUnit.SECONDS), "expected whenFinished to run after a failed load");
+        assertFalse(actionRan.get());
+    }
+
+    @Test
+    void shouldRunWorkOnCallingThread_whenAlreadyLoaded() throws Exception {
+        doAnswer(invocation -> {
+            loaded.set(true);
+            return null;
+        }).when(cacheService).loadWarehouseDtos();
+
+        warmUp.start();
+        awaitStatus(Status.UP);
+
+        Thread[] ranOn = new Thread[1];
+        warmUp.whenLoaded(() -> ranOn[0] = Thread.currentThread());
+        assertSame(Thread.currentThread(), ranOn[0]);
+    }
+
+    private void awaitStatus(final Status expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (warmUp.health().getStatus() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, warmUp.health().getStatus());
+    }
+}
@@ -2,22 +2,49 @@ package com.training.callum.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.training.callum.whoms.config.InputProperties;
+import com.training.callum.whoms.domain.ValidationResult;
+import com.training.callum.whoms.domain.WarehouseCacheDelta;
+import com.training.callum.whoms.domain.WarehouseCursor;
+import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.domain.WarehouseDTOPatterns;
+import com.training.callum.whoms.domain.WarehouseLoadStatistics;
+import com.training.callum.whoms.domain.WarehousePage;
+import com.training.callum.whoms.domain.WarehouseQuery;
+import com.training.callum.whoms.domain.WarehouseRow;
+import com.training.callum.whoms.repository.WarehouseJpaRepository;
 import com.training.callum.whoms.service.ExtDataValidationService;
+import com.training.callum.whoms.service.InvalidRequestException;
+import com.training.callum.whoms.service.WarehouseCacheUnavailableException;
 import com.training.callum.whoms.service.WarehouseDTOCacheService;
+import com.training.callum.whoms.service.WarehouseFileLoadedEvent;
+import com.training.callum.whoms.service.WarehouseLookupCache;
+import com.training.callum.whoms.service.WarehouseMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.ResourceLoader;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,12 +53,20 @@ import static org.mockito.Mockito.*;
  * Tests for WarehouseDTOCacheService:
  * - verifies validation is invoked when a valid resource is present
  * - proves bad filename and missing file paths are logged and do not throw
+ * - loads, reloads and validation failures are recorded as metrics
+ * - an unchanged file is restored from the binary snapshot without parsing, a changed or corrupt one is not
+ * - a restored snapshot records the validation failures of the file it was written from
+ * - the columnar store serves the same warehouses, lookups, pages and reload deltas as the heap store
+ * - pages are refused with a retryable error until a load has succeeded
+ * - page cursors are refused once another load has replaced the one that issued them
+ * - every load is published to the load listeners
+ * - in bounded mode a load keeps nothing of the file, and lookups and pages are answered through the repository
  *
  * These tests assume:
  * - InputProperties is a record with a nested File record and a file() accessor.
  * - File record exposes warehouses() accessor for the warehouses path.
- * - WarehouseDTOCacheService has a loadWarehouseDtos() method (annotated @PostConstruct in production).
- * - WarehouseDTOCacheService stores cached list in a List field (detected via reflection).
+ * - WarehouseDTOCacheService has a loadWarehouseDtos() method (run in the background by WarehouseCacheWarmUp in production).
+ * - WarehouseDTOCacheService exposes the cached list through getWarehouses().
  */
 @ExtendWith({MockitoExtension.class, OutputCaptureExtension.class})
 class WarehouseDTOCacheServiceTest {
@@ -45,13 +80,28 @@ class WarehouseDTOCacheServiceTest {
     @Mock
     private ExtDataValidationService extValidationService;
 
+    @Mock
+    private WarehouseJpaRepository repository;
+
+    @Mock
+    private WarehouseLookupCache lookupCache;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
     private ObjectMapper objectMapper;
     private ResourceLoader resourceLoader;
+    private MeterRegistry meterRegistry;
+    private WarehouseMetrics metrics;
 
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
         resourceLoader = new DefaultResourceLoader();
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new WarehouseMetrics(meterRegistry);
+        // not every test reaches validation, e.g. when the file is missing
+        lenient().when(extValidationService.validate(any())).thenReturn(ValidationResult.valid(WarehouseDTOPatterns.class));
     }
 
     @Test
@@ -61,9 +111,10 @@ class WarehouseDTOCacheServiceTest {
         when(inputFile.warehouses()).thenReturn("classpath:input/test-warehouses.json");
 
         WarehouseDTOCacheService service = new WarehouseDTOCacheService(
-                inputProperties, resourceLoader, objectMapper, extValidationService);
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
 
-        // when: invoke the loader (method is @PostConstruct in prod; call directly)
+        // when: invoke the loader (the warm-up runs it in the background in prod; call directly)
         invokeLoadMethod(service);
 
         // then: validation service should be invoked for at least one item
@@ -75,6 +126,373 @@ class WarehouseDTOCacheServiceTest {
         assertFalse(cached.isEmpty(), "expected cached list to be populated from test resource");
     }
 
+    @Test
+    void shouldReportLoadStatistics_whenStreamingLoadCompletes() throws Exception {
+        when(inputProperties.file()).thenReturn(inputFile);
+        when(inputFile.warehouses()).thenReturn("classpath:input/test-warehouses.json");
+
+        WarehouseDTOCacheService service = new WarehouseDTOCacheService(
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
+
+        invokeLoadMethod(service);
+
+        WarehouseLoadStatistics statistics = service.getLastLoadStatistics();
+        assertEquals(service.getWarehouses().size(), statistics.records());
+        assertTrue(statistics.elapsedNanos() > 0, "expected load to be timed");
+        assertTrue(statistics.peakHeapBytes() > 0, "expected peak heap to be sampled");
+        assertTrue(statistics.recordsPerSecond() > 0, "expected a positive throughput");
+
+        // snake_case keys in the feed map onto the camelCase record components
+        WarehouseDTO first = service.getWarehouses().get(0);
+        assertEquals("02903", first.postalCode());
+        assertEquals("(401) 555-0101", first.warehousePhone());
+        assertEquals(1500000, first.squareFootage());
+        assertEquals(15, first.loadingDocks());
+    }
+
+    @Test
+    void shouldShareUnmodifiableSnapshot_whenReadRepeatedly() throws Exception {
+        when(inputProperties.file()).thenReturn(inputFile);
+        when(inputFile.warehouses()).thenReturn("classpath:input/test-warehouses.json");
+
+        WarehouseDTOCacheService service = new WarehouseDTOCacheService(
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
+        invokeLoadMethod(service);
+
+        List<WarehouseDTO> first = service.getWarehouses();
+        assertSame(first, service.getWarehouses(), "expected readers to share one snapshot without copying");
+        assertThrows(UnsupportedOperationException.class, () -> first.add(first.get(0)));
+
+        // a reload publishes a new snapshot and leaves the one already handed out untouched
+        invokeLoadMethod(service);
+        assertNotSame(first, service.getWarehouses());
+        assertEquals(first, service.getWarehouses());
+    }
+
+    @Test
+    void shouldServeIndexedLookups_whenKeysDifferOnlyInCaseOrFormatting() throws Exception {
+        when(inputProperties.file()).thenReturn(inputFile);
+        when(inputFile.warehouses()).thenReturn("classpath:input/test-warehouses.json");
+
+        WarehouseDTOCacheService service = new WarehouseDTOCacheService(
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
+        invokeLoadMethod(service);
+
+        WarehouseDTO providence = service.getWarehouses().get(0);
+        assertEquals(List.of(providence), service.findByName("PROVIDENCE distribution center"));
+        assertEquals(List.of(providence), service.findByPostalCode("02903"));
+        assertEquals(List.of(providence), service.findByPhone("(401) 555-0101"));
+        assertEquals(List.of(providence), service.findByPhone("401-555-0101"));
+        assertEquals(List.of(providence), service.findByState("ri"));
+        assertEquals(1, service.findByCity("sioux falls").size());
+
+        assertTrue(service.findByName("Nowhere Depot").isEmpty());
+        assertTrue(service.findByPhone(null).isEmpty());
+    }
+
+    @Test
+    void shouldPageThroughFilteredWarehouses_whenResumingFromCursor() throws Exception {
+        when(inputProperties.file()).thenReturn(inputFile);
+        when(inputFile.warehouses()).thenReturn("classpath:input/test-warehouses.json");
+
+        WarehouseDTOCacheService service = new WarehouseDTOCacheService(
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
+        assertThrows(WarehouseCacheUnavailableException.class, () -> service.findPage(WarehouseQuery.ALL, null, 2));
+        invokeLoadMethod(service);
+        assertTrue(service.isLoaded());
+
+        // unfiltered: walk every page of two and collect all warehouses in load order
+        List<WarehouseDTO> collected = new ArrayList<>();
+        WarehousePage page = service.findPage(WarehouseQuery.ALL, null, 2);
+        WarehouseCursor second = page.next().orElseThrow();
+        collected.addAll(page.items());
+        while (page.next().isPresent()) {
+            assertEquals(2, page.items().size());
+            page = service.findPage(WarehouseQuery.ALL, page.next().get(), 2);
+            collected.addAll(page.items());
+        }
+        assertEquals(service.getWarehouses(), collected);
+
+        // a cursor holds while reloads leave the cache unchanged, and is stale once another load replaced it
+        assertEquals(Optional.of(new WarehouseCacheDelta(0, 0, 0, 9)), service.reloadWarehouseDtos());
+        assertEquals(collected.subList(2, 4), service.findPage(WarehouseQuery.ALL, second, 2).items());
+        WarehouseCursor earlierLoad = WarehouseCursor.atPosition(second.load() - 1, second.position());
+        assertThrows(InvalidRequestException.class, () -> service.findPage(WarehouseQuery.ALL, earlierLoad, 2));
+        WarehouseCursor databaseCursor = WarehouseCursor.afterId(second.load(), UUID.randomUUID());
+        assertThrows(InvalidRequestException.class, () -> service.findPage(WarehouseQuery.ALL, databaseCursor, 2));
+
+        // filtered: index-backed state filter combined with a range filter
+        WarehouseQuery query = new WarehouseQuery("ny", null, 500000, null, null, 40);
+        WarehousePage filtered = service.findPage(query, null, 10);
+        assertEquals(1, filtered.items().size());
+        assertEquals("Albany", filtered.items().get(0).city());
+        assertTrue(filtered.next().isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> service.findPage(WarehouseQuery.ALL, null, 0));
+    }
+
+    @Test
+    void shouldKeepSourceOrder_whenLoadingInParallel(@TempDir Path tempDir) throws Exception {
+        // enough records for several validation batches
+        Path file = tempDir.resolve("warehouses.json");
+        List<WarehouseDTO> generated = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            generated.add(new WarehouseDTO("Warehouse " + (char) ('A' + i % 26) + " Number", i + " Main Street",
+                    "City", i % 2 == 0 ? "RI" : "NY", String.format("%05d", i), "(401) 555-0101", 1000 + i, 1 + i % 100));
+        }
+        objectMapper.writeValue(file.toFile(), generated);
+        when(inputProperties.file()).thenReturn(inputFile);
+        when(inputFile.warehouses()).thenReturn(file.toUri().toString());
+        when(inputFile.parallelism()).thenReturn(1, 4);
+
+        WarehouseDTOCacheService sequential = new WarehouseDTOCacheService(
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
+        invokeLoadMethod(sequential);
+        WarehouseDTOCacheService parallel = new WarehouseDTOCacheService(
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
+        invokeLoadMethod(parallel);
+
+        assertEquals(generated, sequential.getWarehouses());
+        assertEquals(generated, parallel.getWarehouses());
+        assertEquals(sequential.findByState("NY"), parallel.findByState("NY"));
+        assertEquals(List.of(generated.get(4242)), parallel.findByPostalCode("04242"));
+        verify(extValidationService, times(20_000)).validate(any());
+    }
+
+    @Test
+    void shouldSwapInDelta_whenFileIsReloaded(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("warehouses.json");
+        WarehouseDTO kept = new WarehouseDTO("Kept Depot", "1 Main Street", "Providence", "RI", "02903",
+                "(401) 555-0101", 10000, 5);
+        WarehouseDTO edited = new WarehouseDTO("Edited Depot", "2 Main Street", "Providence", "RI", "02903",
+                "(401) 555-0102", 10000, 5);
+        WarehouseDTO dropped = new WarehouseDTO("Dropped Depot", "3 Main Street", "Albany", "NY", "12207",
+                "(518) 555-0103", 10000, 5);
+        objectMapper.writeValue(file.toFile(), List.of(kept, edited, dropped));
+        when(inputProperties.file()).thenReturn(inputFile);
+        when(inputFile.warehouses()).thenReturn(file.toUri().toString());
+
+        WarehouseDTOCacheService service = new WarehouseDTOCacheService(
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
+        invokeLoadMethod(service);
+        List<WarehouseDTO> before = service.getWarehouses();
+
+        // an unchanged file is reconciled without publishing a new snapshot
+        assertEquals(Optional.of(new WarehouseCacheDelta(0, 0, 0, 3)), service.reloadWarehouseDtos());
+        assertSame(before, service.getWarehouses());
+
+        WarehouseDTO added = new WarehouseDTO("Added Depot", "4 Main Street", "Albany", "NY", "12207",
+                "(518) 555-0104", 10000, 5);
+        WarehouseDTO editedAgain = new WarehouseDTO("Edited Depot", "2 Main Street", "Providence", "RI", "02903",
+                "(401) 555-0102", 20000, 8);
+        objectMapper.writeValue(file.toFile(), List.of(kept, editedAgain, added));
+
+        assertEquals(Optional.of(new WarehouseCacheDelta(1, 1, 1, 1)), service.reloadWarehouseDtos());
+        List<WarehouseDTO> after = service.getWarehouses();
+        assertEquals(List.of(kept, editedAgain, added), after);
+        assertSame(before.get(0), after.get(0), "expected unchanged warehouses to keep their cached instance");
+        assertEquals(List.of(editedAgain), service.findByName("edited depot"));
+        assertTrue(service.findByName("Dropped Depot").isEmpty());
+        assertEquals(List.of(kept, edited, dropped), before, "expected the old snapshot to stay intact");
+
+        // a file that can no longer be read leaves the cache as it is
+        objectMapper.writeValue(file.toFile(), Map.of("not", "an array"));
+        assertTrue(service.reloadWarehouseDtos().isEmpty());
+        assertSame(after, service.getWarehouses());
+    }
+
+    @Test
+    void shouldRecordMetrics_whenLoadingAndReloading() throws Exception {
+        when(inputProperties.file()).thenReturn(inputFile);
+        when(inputFile.warehouses()).thenReturn("classpath:input/test-warehouses.json");
+        when(extValidationService.validate(any()))
+                .thenReturn(ValidationResult.of(WarehouseDTOPatterns.class, ValidationResult.bit(WarehouseDTOPatterns.STATE)));
+
+        WarehouseDTOCacheService service = new WarehouseDTOCacheService(
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
+        assertTrue(Double.isNaN(meterRegistry.get(WarehouseMetrics.CACHE_SNAPSHOT_AGE).timeGauge().value()));
+        invokeLoadMethod(service);
+        service.reloadWarehouseDtos();
+
+        int records = service.getWarehouses().size();
+        assertEquals(records, meterRegistry.get(WarehouseMetrics.CACHE_SIZE).gauge().value());
+        assertTrue(meterRegistry.get(WarehouseMetrics.CACHE_SNAPSHOT_AGE).timeGauge().value(TimeUnit.NANOSECONDS) >= 0);
+        assertEquals(1, meterRegistry.get(WarehouseMetrics.CACHE_LOAD).tags("mode", "full", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get(WarehouseMetrics.CACHE_LOAD).tags("mode", "reload", "outcome", "success").timer().count());
+        assertEquals(records, meterRegistry.get(WarehouseMetrics.CACHE_LOAD_RECORDS).tags("mode", "full").counter().count());
+        assertEquals(2.0 * records, meterRegistry.get(WarehouseMetrics.VALIDATION_FAILURES)
+                .tags("source", "file", "field", "state").counter().count());
+
+        when(inputFile.warehouses()).thenReturn("file:/nonexistent/path/does-not-exist.json");
+        service.reloadWarehouseDtos();
+        assertEquals(1, meterRegistry.get(WarehouseMetrics.CACHE_LOAD).tags("mode", "reload", "outcome", "failure").timer().count());
+    }
+
+    @Test
+    void shouldRestoreSnapshot_whenWarehouseFileIsUnchanged(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("warehouses.json");
+        Path snapshot = tempDir.resolve("cache/warehouses.snapshot");
+        List<WarehouseDTO> warehouses = List.of(
+                new WarehouseDTO("Providence Depot", "1 Main Street", "Providence", "RI", "02903",
+                        "(401) 555-0101", 10000, 5),
+                new WarehouseDTO("Zürich Depot", null, "Albany", "NY", "12207", "(518) 555-0103", 20000, 8));
+        objectMapper.writeValue(file.toFile(), warehouses);
+        when(inputProperties.file()).thenReturn(inputFile);
+        when(inputFile.warehouses()).thenReturn(file.toUri().toString());
+        when(inputFile.snapshot()).thenReturn(snapshot.toString());
+        when(extValidationService.validate(warehouses.get(1))).thenReturn(
+                ValidationResult.of(WarehouseDTOPatterns.class, ValidationResult.bit(WarehouseDTOPatterns.NAME)));
+
+        invokeLoadMethod(new WarehouseDTOCacheService(
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events));
+        assertTrue(Files.exists(snapshot), "expected the snapshot to be written after parsing");
+        verify(extValidationService, times(2)).validate(any());
+        assertEquals(1.0, meterRegistry.get(WarehouseMetrics.VALIDATION_FAILURES)
+                .tags("source", "file", "field", "name").counter().count());
+
+        WarehouseDTOCacheService restored = new WarehouseDTOCacheService(
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
+        invokeLoadMethod(restored);
+        assertEquals(warehouses, restored.getWarehouses());
+        assertEquals(warehouses.subList(1, 2), restored.findByPhone("518.555.0103"));
+        verify(extValidationService, times(2)).validate(any());
+        assertEquals(2.0, meterRegistry.get(WarehouseMetrics.VALIDATION_FAILURES)
+                .tags("source", "file", "field", "name").counter().count(),
+                "expected the restore to count the failures found when the snapshot was written");
+
+        // a corrupt snapshot is ignored and rewritten from the file
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(snapshot, bytes);
+        WarehouseDTOCacheService reparsed = new WarehouseDTOCacheService(
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
+        invokeLoadMethod(reparsed);
+        assertEquals(warehouses, reparsed.getWarehouses());
+        verify(extValidationService, times(4)).validate(any());
+
+        // a changed file is parsed again even though a snapshot exists
+        objectMapper.writeValue(file.toFile(), warehouses.subList(0, 1));
+        WarehouseDTOCacheService changed = new WarehouseDTOCacheService(
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
+        invokeLoadMethod(changed);
+        assertEquals(warehouses.subList(0, 1), changed.getWarehouses());
+        verify(extValidationService, times(5)).validate(any());
+    }
+
+    @Test
+    void shouldServeSameWarehouses_whenStoreIsColumnar(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("warehouses.json");
+        List<WarehouseDTO> warehouses = new ArrayList<>();
+        warehouses.add(new WarehouseDTO("Zürich Depot 🏭", "1 Main Street", "Albany", "NY", "12207",
+                "(518) 555-0103", 20000, 8));
+        warehouses.add(new WarehouseDTO("Unknown Depot", null, null, null, null, null, 0, 0));
+        for (int i = 0; i < 1_000; i++) {
+            warehouses.add(new WarehouseDTO("Warehouse " + i, i + " Main Street", "City " + i % 7,
+                    i % 2 == 0 ? "RI" : "NY", String.format("%05d", i), String.format("(401) 555-%04d", i), 1000 + i, 1 + i % 100));
+        }
+        objectMapper.writeValue(file.toFile(), warehouses);
+        when(inputProperties.file()).thenReturn(inputFile);
+        when(inputFile.warehouses()).thenReturn(file.toUri().toString());
+        when(inputFile.store()).thenReturn(InputProperties.Store.HEAP, InputProperties.Store.COLUMNAR);
+        when(inputFile.parallelism()).thenReturn(1, 4, 1);
+
+        WarehouseDTOCacheService heap = new WarehouseDTOCacheService(
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
+        invokeLoadMethod(heap);
+        WarehouseDTOCacheService columnar = new WarehouseDTOCacheService(
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
+        invokeLoadMethod(columnar);
+
+        assertEquals(warehouses, columnar.getWarehouses());
+        assertNotSame(columnar.getWarehouses().get(0), columnar.getWarehouses().get(0), "expected views decoded on demand");
+        assertThrows(UnsupportedOperationException.class, () -> columnar.getWarehouses().add(warehouses.get(0)));
+        assertEquals(warehouses.subList(0, 1), columnar.findByName("ZÜRICH DEPOT 🏭"));
+        assertEquals(List.of(warehouses.get(44)), columnar.findByPhone("401.555.0042"));
+        assertEquals(List.of(warehouses.get(44)), columnar.findByPostalCode("00042"));
+        assertEquals(heap.findByState("ny"), columnar.findByState("ny"));
+        assertEquals(heap.findByCity("city 3"), columnar.findByCity("city 3"));
+        assertTrue(columnar.findByName("Nowhere Depot").isEmpty());
+        WarehouseQuery query = new WarehouseQuery("ri", "city 3", 1500, null, null, null);
+        WarehousePage heapPage = heap.findPage(query, null, 10);
+        WarehousePage columnarPage = columnar.findPage(query, null, 10);
+        assertEquals(heapPage.items(), columnarPage.items());
+        assertEquals(heapPage.next().orElseThrow().position(), columnarPage.next().orElseThrow().position());
+
+        // reloads reconcile against the columnar snapshot like against the heap one
+        List<WarehouseDTO> edited = new ArrayList<>(warehouses.subList(1, warehouses.size()));
+        edited.set(1, new WarehouseDTO("Warehouse 0", "0 Main Street", "City 0", "RI", "00000", "(401) 555-0000", 5, 1));
+        objectMapper.writeValue(file.toFile(), edited);
+        assertEquals(Optional.of(new WarehouseCacheDelta(0, 1, 1, 1_000)), columnar.reloadWarehouseDtos());
+        assertEquals(edited, columnar.getWarehouses());
+        assertTrue(columnar.findByName("Zürich Depot 🏭").isEmpty());
+    }
+
+    @Test
+    void shouldHandOffLoadsAndReadThrough_whenCacheIsBounded(@TempDir Path tempDir) throws Exception {
+        Path snapshot = tempDir.resolve("warehouses.snapshot");
+        when(inputProperties.file()).thenReturn(inputFile);
+        when(inputFile.warehouses()).thenReturn("classpath:input/test-warehouses.json");
+        when(inputFile.store()).thenReturn(InputProperties.Store.BOUNDED);
+        lenient().when(inputFile.snapshot()).thenReturn(snapshot.toString());
+
+        WarehouseDTOCacheService service = new WarehouseDTOCacheService(
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
+        invokeLoadMethod(service);
+
+        // the file is handed to the load listeners and nothing of it stays in memory
+        ArgumentCaptor<WarehouseFileLoadedEvent> published = ArgumentCaptor.forClass(WarehouseFileLoadedEvent.class);
+        verify(events).publishEvent(published.capture());
+        List<WarehouseDTO> loaded = published.getValue().getWarehouses();
+        assertEquals(9, loaded.size());
+        assertFalse(published.getValue().isReload());
+        assertTrue(service.isBounded());
+        assertTrue(service.isLoaded());
+        assertTrue(service.getWarehouses().isEmpty());
+        assertEquals(9, service.size());
+        assertFalse(Files.exists(snapshot), "expected no snapshot of a bounded cache");
+
+        // key lookups go through the repository lookup caches, which report what they hold
+        WarehouseDTO providence = loaded.get(0);
+        when(repository.findDTOsByName("PROVIDENCE distribution center")).thenReturn(List.of(providence));
+        when(repository.findDTOsByPhone("401-555-0101")).thenReturn(List.of(providence));
+        assertEquals(List.of(providence), service.findByName("PROVIDENCE distribution center"));
+        assertEquals(List.of(providence), service.findByPhone("401-555-0101"));
+        when(lookupCache.residentWarehouses()).thenReturn(2L);
+        assertEquals(2, meterRegistry.get(WarehouseMetrics.CACHE_SIZE).gauge().value());
+
+        // pages come from the database keyed by the last id, the extra row telling that another page follows
+        List<WarehouseRow> rows = loaded.stream().map(WarehouseDTOCacheServiceTest::row).toList();
+        when(repository.findRowPage(WarehouseQuery.ALL, null, 3)).thenReturn(rows.subList(0, 3));
+        when(repository.findRowPage(WarehouseQuery.ALL, rows.get(1).id(), 3)).thenReturn(rows.subList(2, 5));
+        WarehousePage first = service.findPage(WarehouseQuery.ALL, null, 2);
+        assertEquals(loaded.subList(0, 2), first.items());
+        WarehousePage page = service.findPage(WarehouseQuery.ALL, first.next().orElseThrow(), 2);
+        assertEquals(loaded.subList(2, 4), page.items());
+        assertEquals(rows.get(3).id(), page.next().orElseThrow().lastId());
+
+        // a reload hands the file off again; with nothing cached there is nothing to reconcile
+        assertEquals(Optional.of(new WarehouseCacheDelta(0, 0, 0, 0)), service.reloadWarehouseDtos());
+        verify(events, times(2)).publishEvent(published.capture());
+        assertTrue(published.getValue().isReload());
+        // the database may have changed with the reload, so cursors of the previous load are stale
+        assertThrows(InvalidRequestException.class, () -> service.findPage(WarehouseQuery.ALL, page.next().get(), 2));
+    }
+
     @Test
     void shouldLogBadFileName_whenFilenameIsWrong(CapturedOutput output) throws Exception {
         // given a wrong filename extension
@@ -82,7 +500,8 @@ class WarehouseDTOCacheServiceTest {
         when(inputFile.warehouses()).thenReturn("classpath:input/test-warehouses.json.invalid");
 
         WarehouseDTOCacheService service = new WarehouseDTOCacheService(
-                inputProperties, resourceLoader, objectMapper, extValidationService);
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
 
         // when
         invokeLoadMethod(service);
@@ -104,7 +523,8 @@ class WarehouseDTOCacheServiceTest {
         when(inputFile.warehouses()).thenReturn("file:/nonexistent/path/does-not-exist.json");
 
         WarehouseDTOCacheService service = new WarehouseDTOCacheService(
-                inputProperties, resourceLoader, objectMapper, extValidationService);
+                inputProperties, resourceLoader, objectMapper, extValidationService, metrics, repository,
+                lookupCache, events);
 
         // when
         invokeLoadMethod(service);
@@ -117,9 +537,13 @@ class WarehouseDTOCacheServiceTest {
         // and nothing was cached
         List<?> cached = findCachedList(service);
         assertTrue(cached == null || cached.isEmpty(), "expected empty cache for missing file");
+
+        // and pages are refused until a load succeeds
+        assertFalse(service.isLoaded());
+        assertThrows(WarehouseCacheUnavailableException.class, () -> service.findPage(WarehouseQuery.ALL, null, 10));
     }
 
-    // helper to invoke the loadWarehouseDtos method (PostConstruct in production)
+    // helper to invoke the loadWarehouseDtos method (run by WarehouseCacheWarmUp in production)
     private static void invokeLoadMethod(Object service) throws Exception {
         Method m = null;
         for (Method method : service.getClass().getDeclaredMethods()) {
@@ -144,15 +568,13 @@ class WarehouseDTOCacheServiceTest {
         m.invoke(service);
     }
 
-    // helper to find first List field inside service instance
-    @SuppressWarnings("unchecked")
-    private static List<?> findCachedList(Object service) throws Exception {
-        for (Field f : service.getClass().getDeclaredFields()) {
-            if (List.class.isAssignableFrom(f.getType())) {
-                f.setAccessible(true);
-                return (List<?>) f.get(service);
-            }
-        }
-        return null;
+    // helper to read the cached list from the service's current snapshot
+    private static WarehouseRow row(WarehouseDTO dto) {
+        return new WarehouseRow(UUID.randomUUID(), dto.name(), dto.address(), dto.city(), dto.state(), dto.postalCode(),
+                dto.warehousePhone(), dto.squareFootage(), dto.loadingDocks());
+    }
+
+    private static List<?> findCachedList(WarehouseDTOCacheService service) {
+        return service.getWarehouses();
     }
 }
\ No newline at end of file
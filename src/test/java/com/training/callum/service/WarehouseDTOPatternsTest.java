@@ -0,0 +1,71 @@
+package com.training.callum.service;
+
+import com.training.callum.whoms.domain.WarehouseDTOPatterns;
+import com.training.callum.whoms.domain.WarehouseLookupType;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.training.callum.service.PatternScannerAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the compiled scanners of WarehouseDTOPatterns:
+ * - every scanner must accept exactly the inputs its regex accepts
+ * - checked on hand-picked edge cases and on seeded random strings drawn from the characters the rules care about
+ * - lookup key classification must agree with probing the name, postal code and phone rules in turn
+ */
+class WarehouseDTOPatternsTest {
+
+    private static final List<String> EDGE_CASES = List.of(
+            "", " ", "A", "AB", "ab", "ABC", "A B", "A  B", " A", "A ", "Sioux Falls", "Sioux falls.",
+            "St. Louis", "Fort St. Johns", "Ft Worth Jr.", "New York .", "02903", "02903-1234", "0290", "02903-123",
+            "029031234", "02903 1234", "(401) 555-0101", "401-555-0101", "401.555.0101", "4015550101",
+            "(401)555-0101", "(401 555 0101", "401) 555 0101", "401\t555\n0101", "(401)  555-0101", "401-555-01011",
+            "12 Main St., Suite 5-B", "12 Main St #5", "1500000", "-1", "1a", "A\n", "AB\n", "02903\n", "Émile");
+
+    private static final String ALPHABET = "aZ9 .,-()\t\n\u000B\f\r#";
+
+    @Test
+    void shouldMatchLikeRegex_whenGivenEdgeCases() {
+        for (WarehouseDTOPatterns rule : WarehouseDTOPatterns.values()) {
+            for (String value : EDGE_CASES) {
+                assertEquivalent(rule, rule.getPattern(), rule::matches, value);
+            }
+            assertFalse(rule.matches(null), () -> rule + " must reject null");
+        }
+    }
+
+    @Test
+    void shouldMatchLikeRegex_whenGivenRandomInput() {
+        Random random = new Random(42);
+        for (WarehouseDTOPatterns rule : WarehouseDTOPatterns.values()) {
+            for (int i = 0; i < 20_000; i++) {
+                assertEquivalent(rule, rule.getPattern(), rule::matches, randomValue(random, ALPHABET));
+            }
+        }
+    }
+
+    @Test
+    void shouldClassifyLikeSequentialMatching_whenGivenLookupKeys() {
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            assertClassifiedLikeCascade(randomValue(random, ALPHABET));
+        }
+        EDGE_CASES.forEach(WarehouseDTOPatternsTest::assertClassifiedLikeCascade);
+        assertNull(WarehouseLookupType.classify(null));
+    }
+
+    private static void assertClassifiedLikeCascade(final String key) {
+        WarehouseLookupType expected = WarehouseDTOPatterns.NAME.getPattern().matcher(key).matches()
+                ? WarehouseLookupType.NAME
+                : WarehouseDTOPatterns.POSTAL_CODE.getPattern().matcher(key).matches()
+                ? WarehouseLookupType.POSTAL_CODE
+                : WarehouseDTOPatterns.WAREHOUSE_PHONE.getPattern().matcher(key).matches()
+                ? WarehouseLookupType.PHONE
+                : null;
+        assertEquals(expected, WarehouseLookupType.classify(key), () -> "misclassified \"" + key + "\"");
+    }
+}
@@ -0,0 +1,126 @@
+package com.training.callum.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.training.callum.whoms.config.InputProperties;
+import com.training.callum.whoms.domain.ValidationResult;
+import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.domain.WarehouseDTOPatterns;
+import com.training.callum.whoms.domain.WarehouseRow;
+import com.training.callum.whoms.repository.WarehouseJpaRepository;
+import com.training.callum.whoms.service.ExtDataValidationService;
+import com.training.callum.whoms.service.WarehouseDTOCacheService;
+import com.training.callum.whoms.service.WarehouseExportService;
+import com.training.callum.whoms.service.WarehouseLookupCache;
+import com.training.callum.whoms.service.WarehouseMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for WarehouseExportService:
+ * - both export formats must round-trip the cached warehouses in order
+ * - in bounded mode the warehouses are streamed from the database in a read-only transaction
+ */
+@ExtendWith(MockitoExtension.class)
+class WarehouseExportServiceTest {
+
+    @Mock
+    private InputProperties inputProperties;
+
+    @Mock
+    private InputProperties.File inputFile;
+
+    @Mock
+    private ExtDataValidationService extValidationService;
+
+    @Mock
+    private WarehouseJpaRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ObjectMapper objectMapper;
+    private WarehouseDTOCacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        when(inputProperties.file()).thenReturn(inputFile);
+        when(inputFile.warehouses()).thenReturn("classpath:input/test-warehouses.json");
+        when(extValidationService.validate(any())).thenReturn(ValidationResult.valid(WarehouseDTOPatterns.class));
+
+        objectMapper = new ObjectMapper();
+        cacheService = new WarehouseDTOCacheService(
+                inputProperties, new DefaultResourceLoader(), objectMapper, extValidationService,
+                new WarehouseMetrics(new SimpleMeterRegistry()), repository,
+                mock(WarehouseLookupCache.class), mock(ApplicationEventPublisher.class));
+        cacheService.loadWarehouseDtos();
+    }
+
+    @Test
+    void shouldWriteOneWarehousePerLine_whenExportingNdjson() throws Exception {
+        WarehouseExportService exportService = new WarehouseExportService(cacheService, objectMapper, repository, transactionManager);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int written = exportService.writeNdjson(out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"), "expected every record to be newline terminated");
+        List<WarehouseDTO> exported = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            assertFalse(line.startsWith(" "), "expected no separator between records");
+            exported.add(objectMapper.readValue(line, WarehouseDTO.class));
+        }
+        assertEquals(cacheService.getWarehouses().size(), written);
+        assertEquals(cacheService.getWarehouses(), exported);
+    }
+
+    @Test
+    void shouldWriteSingleArray_whenExportingJson() throws Exception {
+        WarehouseExportService exportService = new WarehouseExportService(cacheService, objectMapper, repository, transactionManager);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeJsonArray(out);
+
+        WarehouseDTO[] exported = objectMapper.readValue(out.toByteArray(), WarehouseDTO[].class);
+        assertEquals(cacheService.getWarehouses(), List.of(exported));
+    }
+
+    @Test
+    void shouldStreamDatabaseRows_whenCacheIsBounded() throws Exception {
+        WarehouseDTOCacheService boundedCache = mock(WarehouseDTOCacheService.class);
+        when(boundedCache.isBounded()).thenReturn(true);
+        List<WarehouseDTO> persisted = cacheService.getWarehouses();
+        when(repository.streamAllRows()).thenReturn(persisted.stream().map(dto -> new WarehouseRow(UUID.randomUUID(),
+                dto.name(), dto.address(), dto.city(), dto.state(), dto.postalCode(), dto.warehousePhone(),
+                dto.squareFootage(), dto.loadingDocks())));
+        WarehouseExportService exportService =
+                new WarehouseExportService(boundedCache, objectMapper, repository, transactionManager);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int written = exportService.writeJsonArray(out);
+
+        WarehouseDTO[] exported = objectMapper.readValue(out.toByteArray(), WarehouseDTO[].class);
+        assertEquals(persisted, List.of(exported));
+        assertEquals(persisted.size(), written);
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()));
+        verify(transactionManager).commit(any());
+        verify(boundedCache, never()).getWarehouses();
+    }
+}
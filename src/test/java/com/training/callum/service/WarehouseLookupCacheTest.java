@@ -0,0 +1,174 @@
+package com.training.callum.service;
+
+import com.training.callum.whoms.config.CacheConfiguration;
+import com.training.callum.whoms.config.InputProperties;
+import com.training.callum.whoms.domain.Warehouse;
+import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.repository.WarehouseJpaRepository;
+import com.training.callum.whoms.service.WarehouseLookupCache;
+import com.training.callum.whoms.service.WarehouseMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the warehouse lookup caches:
+ * - every cache holds at most input.file.max-count warehouses, and a frequently read key outlives a scan of
+ *   one-off keys
+ * - a lookup weighs as many warehouses as it found, and the caches report the warehouses they hold
+ * - the hit ratio of each cache is published as a gauge
+ * - evicting a warehouse drops its lookups from every DTO lookup cache
+ * - only immutable DTO lists are cached; entity lookups are never cached
+ */
+class WarehouseLookupCacheTest {
+
+    private static final int MAX_SIZE = 100;
+
+    private CaffeineCacheManager cacheManager;
+    private MeterRegistry meterRegistry;
+    private WarehouseLookupCache lookupCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager(CacheConfiguration.WAREHOUSE_DTOS_BY_NAME,
+                CacheConfiguration.WAREHOUSE_DTOS_BY_POSTAL_CODE, CacheConfiguration.WAREHOUSE_DTOS_BY_PHONE);
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getCaffeine().setSpec("recordStats");
+        InputProperties inputProperties = new InputProperties(new InputProperties.File(
+                null, null, MAX_SIZE, 1, Duration.ZERO, null, InputProperties.Store.BOUNDED));
+        new CacheConfiguration().lookupCacheCapacity(cacheProperties, inputProperties).customize(cacheManager);
+        meterRegistry = new SimpleMeterRegistry();
+        lookupCache = new WarehouseLookupCache(cacheManager, new WarehouseMetrics(meterRegistry));
+    }
+
+    @Test
+    void shouldKeepFrequentKeysWithinCapacity_whenManyKeysAreCached() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfiguration.WAREHOUSE_DTOS_BY_NAME);
+        // a weighted cache sizes its frequency sketch to the entries it holds, so fill it past capacity first
+        for (int i = 0; i < 2 * MAX_SIZE; i++) {
+            cache.put("warm-up depot " + i, List.of());
+        }
+        cache.getNativeCache().cleanUp();
+        cache.put("hot depot", List.of());
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(cache.get("hot depot"));
+        }
+
+        // the hot key is read less often than an LRU cache of this size would need to keep it
+        for (int i = 1; i <= 10_000; i++) {
+            cache.put("one-off depot " + i, List.of());
+            if (i % (2 * MAX_SIZE) == 0) {
+                cache.getNativeCache().cleanUp();
+                assertNotNull(cache.get("hot depot"), "expected the frequently read key to stay resident after " + i);
+            }
+        }
+
+        assertTrue(cache.getNativeCache().estimatedSize() <= MAX_SIZE,
+                () -> "expected at most " + MAX_SIZE + " entries, found " + cache.getNativeCache().estimatedSize());
+    }
+
+    @Test
+    void shouldWeighLookupsByWarehouses_whenSizingTheCaches() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfiguration.WAREHOUSE_DTOS_BY_POSTAL_CODE);
+        WarehouseDTO warehouse = new WarehouseDTO("Providence Depot", "1 Main Street", "Providence", "RI",
+                "02903", "(401) 555-0101", 10000, 5);
+        cache.put("02903", Collections.nCopies(10, warehouse));
+        cache.put("12205", List.of());
+        cacheManager.getCache(CacheConfiguration.WAREHOUSE_DTOS_BY_NAME).put("providence depot", List.of(warehouse));
+        cleanUp();
+        assertEquals(12, lookupCache.residentWarehouses());
+
+        for (int i = 0; i < 50; i++) {
+            cache.put(String.format("%05d", i), Collections.nCopies(10, warehouse));
+        }
+        cleanUp();
+
+        assertTrue(cache.getNativeCache().policy().eviction().orElseThrow().weightedSize().getAsLong() <= MAX_SIZE);
+        assertTrue(lookupCache.residentWarehouses() <= MAX_SIZE + 1);
+    }
+
+    @Test
+    void shouldPublishHitRatio_whenCacheIsRead() {
+        Cache cache = cacheManager.getCache(CacheConfiguration.WAREHOUSE_DTOS_BY_PHONE);
+        assertTrue(Double.isNaN(hitRatio(CacheConfiguration.WAREHOUSE_DTOS_BY_PHONE)));
+
+        cache.put("4015550101", List.of());
+        cache.get("4015550101");
+        cache.get("4015550101");
+        cache.get("4015550101");
+        cache.get("5185550103");
+
+        assertEquals(0.75, hitRatio(CacheConfiguration.WAREHOUSE_DTOS_BY_PHONE), 1e-9);
+    }
+
+    @Test
+    void shouldEvictDtoLookups_whenWarehouseIsEvicted() {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName("Providence Depot");
+        warehouse.setPostalCode("02903");
+        warehouse.setWarehousePhone("(401) 555-0101");
+        for (String name : cacheManager.getCacheNames()) {
+            cacheManager.getCache(name).put(name.endsWith("Name") ? "providence depot"
+                    : name.endsWith("PostalCode") ? "02903" : "4015550101", List.of());
+        }
+
+        lookupCache.evict(warehouse);
+
+        for (String name : cacheManager.getCacheNames()) {
+            assertEquals(0, ((CaffeineCache) cacheManager.getCache(name)).getNativeCache().estimatedSize(), name);
+        }
+    }
+
+    @Test
+    void shouldCacheOnlyImmutableDtoLists_whenRepositoryLookupsAreDeclared() throws Exception {
+        WarehouseJpaRepository repository = mock(WarehouseJpaRepository.class, CALLS_REAL_METHODS);
+        WarehouseDTO providence = new WarehouseDTO("Providence Depot", "1 Main Street", "Providence", "RI",
+                "02903", "(401) 555-0101", 10000, 5);
+        doReturn(new ArrayList<>(List.of(providence))).when(repository).findDTOsByNameKey("providence depot");
+        doReturn(new ArrayList<>(List.of(providence))).when(repository).findDTOsByPostalCodeKey("02903");
+        doReturn(new ArrayList<>(List.of(providence))).when(repository).findDTOsByPhoneKey("4015550101");
+
+        for (List<WarehouseDTO> cached : List.of(repository.findDTOsByName("PROVIDENCE depot"),
+                repository.findDTOsByPostalCode("02903"), repository.findDTOsByPhone("401-555-0101"))) {
+            assertEquals(List.of(providence), cached);
+            assertThrows(UnsupportedOperationException.class, () -> cached.add(providence));
+        }
+
+        for (Method method : WarehouseJpaRepository.class.getMethods()) {
+            if (method.isAnnotationPresent(Cacheable.class)) {
+                assertEquals(List.class, method.getReturnType(), method.getName());
+                assertEquals(WarehouseDTO.class,
+                        ((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0], method.getName());
+            }
+        }
+    }
+
+    // weights are only updated when Caffeine runs its maintenance
+    private void cleanUp() {
+        for (String name : cacheManager.getCacheNames()) {
+            ((CaffeineCache) cacheManager.getCache(name)).getNativeCache().cleanUp();
+        }
+    }
+
+    private double hitRatio(final String cacheName) {
+        return meterRegistry.get(WarehouseMetrics.LOOKUP_CACHE_HIT_RATIO).tag("cache", cacheName).gauge().value();
+    }
+}
@@ -0,0 +1,58 @@
+package com.training.callum.service;
+
+import com.training.callum.whoms.WarehouseOperationsManagementApplication;
+import com.training.callum.whoms.config.IngestProperties;
+import com.training.callum.whoms.repository.WarehouseJpaRepository;
+import com.training.callum.whoms.service.WarehouseLookupKeyBackfill;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for WarehouseLookupKeyBackfill, starting from a warehouses table and rows written before the lookup
+ * key columns existed, which the schema update then extends:
+ * - the schema update adds the key columns to the populated table, leaving them empty
+ * - the startup backfill does nothing unless ingest.backfill-lookup-keys is enabled
+ * - the backfill derives the keys of every row, in several chunks, so lookups by name and phone find them
+ * - a second backfill finds nothing left to do
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=update",
+    "spring.sql.init.schema-locations=classpath:legacy/warehouses-before-lookup-keys.sql"
+})
+@ContextConfiguration(classes = WarehouseOperationsManagementApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WarehouseLookupKeyBackfillTest {
+
+    @Autowired
+    private WarehouseJpaRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldDeriveLookupKeys_whenRowsPredateKeyColumns() {
+        assertEquals(3, repository.count());
+        assertTrue(repository.findByName("Providence Depot").isEmpty(), "expected rows without keys to be unreachable");
+
+        new WarehouseLookupKeyBackfill(repository, new IngestProperties(2, false, false, false), transactionManager)
+                .backfillOnStartup();
+        assertTrue(repository.findByName("Providence Depot").isEmpty(), "expected the backfill to be off by default");
+
+        WarehouseLookupKeyBackfill backfill =
+                new WarehouseLookupKeyBackfill(repository, new IngestProperties(2, false, false, true), transactionManager);
+        backfill.backfillOnStartup();
+
+        assertEquals("Providence Depot", repository.findByName("PROVIDENCE depot").get(0).getName());
+        assertEquals("Albany Depot", repository.findByPhone("(518) 555-0103").get(0).getName());
+        assertEquals("Newark Depot", repository.findByPhone("9735550104").get(0).getName());
+        assertEquals(0, backfill.backfill());
+    }
+}
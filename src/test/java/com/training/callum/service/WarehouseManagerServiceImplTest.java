@@ -0,0 +1,244 @@
+package com.training.callum.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.training.callum.whoms.config.IngestProperties;
+import com.training.callum.whoms.config.InputProperties;
+import com.training.callum.whoms.domain.BulkPersistResult;
+import com.training.callum.whoms.domain.ValidationResult;
+import com.training.callum.whoms.domain.Warehouse;
+import com.training.callum.whoms.domain.WarehouseDTO;
+import com.training.callum.whoms.domain.WarehouseDTOPatterns;
+import com.training.callum.whoms.domain.WarehouseLookupType;
+import com.training.callum.whoms.repository.WarehouseJpaRepository;
+import com.training.callum.whoms.service.ExtDataValidationService;
+import com.training.callum.whoms.service.InvalidRequestException;
+import com.training.callum.whoms.service.WarehouseCacheUnavailableException;
+import com.training.callum.whoms.service.WarehouseDTOCacheService;
+import com.training.callum.whoms.service.WarehouseLookupCache;
+import com.training.callum.whoms.service.WarehouseManagerServiceImpl;
+import com.training.callum.whoms.service.WarehouseMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for WarehouseManagerServiceImpl bulk ingestion:
+ * - warehouses are saved and committed in chunks of the requested size
+ * - a failing chunk is rolled back and reported while the other chunks still commit
+ * - warehouses that fail validation are dropped before chunking and reported as skipped
+ * - a single warehouse that fails validation is rejected before it reaches the repository
+ * - updates evict the cached lookups of both the replaced and the new values
+ * - DTO lookups are answered by the indexes of the loaded warehouse cache without touching the repository,
+ *   and refused with a retryable error until the cache has loaded
+ * - typed lookups run the query of the given type without inspecting the key
+ */
+@ExtendWith(MockitoExtension.class)
+class WarehouseManagerServiceImplTest {
+
+    @Mock
+    private ExtDataValidationService validationService;
+
+    @Mock
+    private WarehouseJpaRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private WarehouseLookupCache lookupCache;
+
+    @Mock
+    private InputProperties inputProperties;
+
+    @Mock
+    private InputProperties.File inputFile;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    private WarehouseDTOCacheService cacheService;
+    private WarehouseManagerServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        WarehouseMetrics metrics = new WarehouseMetrics(new SimpleMeterRegistry());
+        lenient().when(inputProperties.file()).thenReturn(inputFile);
+        lenient().when(inputFile.warehouses()).thenReturn("classpath:input/test-warehouses.json");
+        cacheService = new WarehouseDTOCacheService(inputProperties, new DefaultResourceLoader(), new ObjectMapper(),
+                new ExtDataValidationService(), metrics, repository, lookupCache, events);
+        service = new WarehouseManagerServiceImpl(
+                validationService, repository, transactionManager, new IngestProperties(4, false, false, false), lookupCache,
+                metrics, cacheService);
+        lenient().when(validationService.validate(any(WarehouseDTO.class))).thenReturn(ValidationResult.valid(WarehouseDTOPatterns.class));
+    }
+
+    @Test
+    void shouldCommitOneTransactionPerChunk_whenBulkPersisting() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        List<List<String>> savedChunks = captureSavedChunkNames();
+
+        BulkPersistResult result = service.persistWarehouseDTOs(warehouses(10).stream());
+
+        assertEquals(10, result.persisted());
+        assertTrue(result.failedChunks().isEmpty());
+        assertEquals(List.of(4, 4, 2), savedChunks.stream().map(List::size).toList());
+        assertEquals("Warehouse Number A", savedChunks.get(0).get(0));
+        verify(transactionManager, times(3)).commit(any());
+        verify(repository, times(3)).flush();
+        verify(validationService, times(10)).validate(any(WarehouseDTO.class));
+    }
+
+    @Test
+    void shouldReportFailedChunk_andContinue_whenChunkCannotBeSaved() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(repository.saveAll(any()))
+                .thenReturn(List.of())
+                .thenThrow(new DataIntegrityViolationException("duplicate key"))
+                .thenReturn(List.of());
+
+        BulkPersistResult result = service.persistWarehouseDTOs(warehouses(8), 3);
+
+        assertEquals(5, result.persisted());
+        assertEquals(List.of(new BulkPersistResult.ChunkFailure(1, 3, 3, "duplicate key")), result.failedChunks());
+        assertEquals(3, result.failedRecords());
+        verify(transactionManager, times(1)).rollback(any(TransactionStatus.class));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void shouldSkipInvalidWarehouses_beforeChunking() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        List<List<String>> savedChunks = captureSavedChunkNames();
+        ValidationResult<WarehouseDTOPatterns> invalid = ValidationResult.of(WarehouseDTOPatterns.class,
+                ValidationResult.bit(WarehouseDTOPatterns.STATE));
+        List<WarehouseDTO> warehouses = warehouses(6);
+        when(validationService.validate(warehouses.get(1))).thenReturn(invalid);
+        when(validationService.validate(warehouses.get(4))).thenReturn(invalid);
+
+        BulkPersistResult result = service.persistWarehouseDTOs(warehouses, 3);
+
+        assertEquals(4, result.persisted());
+        assertEquals(2, result.skipped());
+        assertTrue(result.failedChunks().isEmpty());
+        assertEquals(List.of(
+                List.of("Warehouse Number A", "Warehouse Number C", "Warehouse Number D"),
+                List.of("Warehouse Number F")), savedChunks);
+    }
+
+    @Test
+    void shouldRejectNonPositiveChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> service.persistWarehouseDTOs(warehouses(1), 0));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldRejectWarehouse_whenValidationFails() {
+        ValidationResult<WarehouseDTOPatterns> invalid = ValidationResult.of(WarehouseDTOPatterns.class,
+                ValidationResult.bit(WarehouseDTOPatterns.STATE));
+        when(validationService.validate(any(WarehouseDTO.class))).thenReturn(invalid);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.persistWarehouseDTO(warehouses(1).get(0)));
+
+        assertTrue(ex.getMessage().contains("state: " + WarehouseDTOPatterns.STATE.getErrorMessage()));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldEvictOldAndNewLookups_whenUpdatingWarehouse() {
+        UUID id = UUID.randomUUID();
+        Warehouse stored = new Warehouse("Old Name", "1 Main Street", "Providence", "RI", "02903",
+                "(401) 555-0101", 10000, 5);
+        Warehouse changed = new Warehouse("New Name", "1 Main Street", "Providence", "RI", "02904",
+                "(401) 555-0101", 10000, 5);
+        changed.setId(id);
+        when(validationService.validateEntity(changed)).thenReturn(ValidationResult.valid(WarehouseDTOPatterns.class));
+        when(repository.findById(id)).thenReturn(Optional.of(stored));
+        when(repository.save(changed)).thenReturn(changed);
+
+        service.updateWarehouseInformation(changed);
+
+        verify(lookupCache).evict(stored);
+        verify(lookupCache).evict(changed);
+    }
+
+    @Test
+    void shouldAnswerFromCacheIndexes_whenLookingUpDtos() {
+        cacheService.loadWarehouseDtos();
+        WarehouseDTO providence = cacheService.getWarehouses().get(0);
+
+        assertEquals(List.of(providence), service.findWarehouseDTOs("02903"));
+        // the index key is normalized, so another phone format still finds the warehouse
+        assertEquals(List.of(providence), service.findWarehouseDTOs("401-555-0101"));
+        assertEquals(List.of(providence), service.findWarehouseDTOs(WarehouseLookupType.NAME,
+                "providence distribution center"));
+        assertTrue(service.findWarehouseDTOs(WarehouseLookupType.POSTAL_CODE, "99999").isEmpty());
+        assertThrows(InvalidRequestException.class, () -> service.findWarehouseDTOs("#42"));
+        assertTrue(service.findWarehouseDTOs(null).isEmpty());
+
+        verifyNoInteractions(repository, transactionManager);
+    }
+
+    @Test
+    void shouldRefuseDtoLookups_untilCacheIsLoaded() {
+        assertThrows(WarehouseCacheUnavailableException.class, () -> service.findWarehouseDTOs("02903"));
+        assertThrows(WarehouseCacheUnavailableException.class,
+                () -> service.findWarehouseDTOs(WarehouseLookupType.PHONE, "(401) 555-0101"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldRunQueryOfGivenType_whenLookingUpByType() {
+        Warehouse warehouse = new Warehouse();
+        when(repository.findByName("02903")).thenReturn(List.of(warehouse));
+        when(repository.findByPhone("(401) 555-0101")).thenReturn(List.of(warehouse));
+
+        // the type decides the query even where the key's format would suggest another
+        assertEquals(List.of(warehouse), service.warehouseLookUp(WarehouseLookupType.NAME, "02903"));
+        assertEquals(List.of(warehouse), service.warehouseLookUp(WarehouseLookupType.PHONE, "(401) 555-0101"));
+        assertTrue(service.warehouseLookUp(WarehouseLookupType.POSTAL_CODE, null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> service.warehouseLookUp(null, "02903"));
+
+        verify(repository, never()).findByPostalCode(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<String>> captureSavedChunkNames() {
+        List<List<String>> savedChunks = new ArrayList<>();
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            List<String> names = new ArrayList<>();
+            ((Iterable<Warehouse>) invocation.getArgument(0)).forEach(w -> names.add(w.getName()));
+            savedChunks.add(names);
+            return List.of();
+        });
+        return savedChunks;
+    }
+
+    private static List<WarehouseDTO> warehouses(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new WarehouseDTO("Warehouse Number " + (char) ('A' + i), "1 Main Street", "Providence",
+                        "RI", "02903", "(401) 555-0101", 10000, 5))
+                .toList();
+    }
+}
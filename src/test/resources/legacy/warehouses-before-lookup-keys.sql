@@ -0,0 +1,18 @@
+-- warehouses table as created before the name_key and phone_key lookup columns existed, with rows in it
+create table warehouses (
+    warehouse_id uuid not null,
+    address varchar(255) not null,
+    city varchar(255) not null,
+    loading_docks integer not null,
+    name varchar(255) not null,
+    postal_code varchar(255) not null,
+    square_footage integer not null,
+    state varchar(2) not null,
+    warehouse_phone varchar(255) not null,
+    primary key (warehouse_id)
+);
+
+insert into warehouses values
+    (random_uuid(), '1 Main Street', 'Providence', 5, 'Providence Depot', '02903', 10000, 'RI', '(401) 555-0101'),
+    (random_uuid(), '2 Main Street', 'Albany', 8, 'Albany Depot', '12207', 20000, 'NY', '518-555-0103'),
+    (random_uuid(), '3 Main Street', 'Newark', 12, 'Newark Depot', '07102', 30000, 'NJ', '973.555.0104');
@@ -0,0 +1,224 @@
+package com.training.callum.whoms.tools;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures how long the service takes from JVM start until it is ready to serve warehouses, comparing
+ * launch modes of the same build.
+ *
+ * Every run starts a fresh JVM with startup.exit-when-ready, reads the "Ready with ... ms after JVM
+ * start" line the service logs once the context is ready and the warehouse cache is loaded, and waits
+ * for the JVM to exit. Each mode gets one untimed run first so that all of them start with a warm file
+ * system cache, then the timed runs of the modes are interleaved so that background noise hits them
+ * alike. The warehouse snapshot and the startup sync are switched off so that every run does the same
+ * work. Runs use the JVM this tool runs on.
+ *
+ * The modes are:
+ * - plain: the bootJar as built, {@code java -jar}
+ * - extracted: the jar extracted by the tools jar mode, without an archive
+ * - optimized: the extracted jar launched with the arguments file written by the training run, which
+ *   adds the AOT cache or CDS archive and, in an AOT build, the AOT-processed contexts
+ *
+ * Run through {@code ./gradlew measureStartup}, see the README for the options.
+ */
+public final class StartupTimer {
+
+    private static final Pattern READY = Pattern.compile("Ready with (\\d+) warehouses (\\d+) ms after JVM start");
+
+    private static final long RUN_TIMEOUT_MINUTES = 10;
+
+    private final String java;
+    private final List<String> applicationArgs;
+
+    /**
+     * @param java path of the java launcher
+     * @param applicationArgs arguments passed to the service in every mode
+     */
+    public StartupTimer(final String java, final List<String> applicationArgs) {
+        this.java = java;
+        this.applicationArgs = List.copyOf(applicationArgs);
+    }
+
+    /**
+     * One way of launching the service.
+     *
+     * @param name label in the report
+     * @param directory working directory of the JVM
+     * @param jvmArgs JVM arguments before {@code -jar}
+     * @param jar jar to launch, relative to the directory
+     */
+    public record Mode(String name, Path directory, List<String> jvmArgs, String jar) {
+    }
+
+    /**
+     * Ready times of one mode in milliseconds, in run order.
+     */
+    public record Result(String name, long[] readyMillis) {
+
+        public long median() {
+            final long[] sorted = readyMillis.clone();
+            Arrays.sort(sorted);
+            final int middle = sorted.length / 2;
+            return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+        }
+
+        public long min() {
+            return Arrays.stream(readyMillis).min().orElseThrow();
+        }
+
+        public long max() {
+            return Arrays.stream(readyMillis).max().orElseThrow();
+        }
+    }
+
+    /**
+     * Runs every mode once untimed and then {@code runs} times each, interleaved.
+     *
+     * @return results in the order of the modes
+     */
+    public List<Result> measure(final List<Mode> modes, final int runs) throws IOException, InterruptedException {
+        if (runs < 1) {
+            throw new IllegalArgumentException("Runs must be positive: " + runs);
+        }
+        for (final Mode mode : modes) {
+            launch(mode);
+        }
+        final long[][] readyMillis = new long[modes.size()][runs];
+        for (int run = 0; run < runs; run++) {
+            for (int i = 0; i < modes.size(); i++) {
+                readyMillis[i][run] = launch(modes.get(i));
+            }
+        }
+        final List<Result> results = new ArrayList<>(modes.size());
+        for (int i = 0; i < modes.size(); i++) {
+            results.add(new Result(modes.get(i).name(), readyMillis[i]));
+        }
+        return results;
+    }
+
+    /**
+     * @return the ready time reported by the line, if it is the ready line
+     */
+    public static OptionalLong readyMillis(final String line) {
+        final Matcher matcher = READY.matcher(line);
+        return matcher.find() ? OptionalLong.of(Long.parseLong(matcher.group(2))) : OptionalLong.empty();
+    }
+
+    /**
+     * Table of the results with each median relative to that of the first mode.
+     */
+    public static String report(final List<Result> results) {
+        final StringBuilder report = new StringBuilder(String.format("%-10s %8s %8s %8s %8s%n",
+                "mode", "median", "min", "max", "vs " + results.get(0).name()));
+        final double baseline = results.get(0).median();
+        for (final Result result : results) {
+            report.append(String.format("%-10s %6d ms %5d ms %5d ms %7.2fx%n", result.name(), result.median(),
+                    result.min(), result.max(), baseline / result.median()));
+        }
+        return report.toString();
+    }
+
+    private long launch(final Mode mode) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(mode.jvmArgs());
+        command.add("-jar");
+        command.add(mode.jar());
+        command.add("--startup.exit-when-ready=true");
+        command.add("--input.file.snapshot=");
+        command.add("--ingest.sync-on-startup=false");
+        command.addAll(applicationArgs);
+
+        final Process process = new ProcessBuilder(command)
+                .directory(mode.directory().toFile())
+                .redirectErrorStream(true)
+                .start();
+        OptionalLong ready = OptionalLong.empty();
+        final List<String> tail = new ArrayList<>();
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (ready.isEmpty()) {
+                    ready = readyMillis(line);
+                }
+                tail.add(line);
+                if (tail.size() > 20) {
+                    tail.remove(0);
+                }
+            }
+        }
+        if (!process.waitFor(RUN_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Mode " + mode.name() + " did not exit within " + RUN_TIMEOUT_MINUTES
+                    + " minutes");
+        }
+        if (process.exitValue() != 0 || ready.isEmpty()) {
+            throw new IllegalStateException("Mode " + mode.name() + " exited with " + process.exitValue()
+                    + " without becoming ready:" + System.lineSeparator() + String.join(System.lineSeparator(), tail));
+        }
+        return ready.getAsLong();
+    }
+
+    /**
+     * Options as {@code --name=value}: plain-jar (the bootJar), extracted-jar (the extracted jar, whose
+     * directory holds the training run's arguments file), args-file (name of that file, default
+     * startup.args), runs (timed runs per mode, default 5) and warehouses (warehouse file location passed
+     * to the service, default the bundled sample).
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        final Map<String, String> options = new LinkedHashMap<>();
+        for (final String arg : args) {
+            final int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        final Path plainJar = Path.of(required(options, "plain-jar")).toAbsolutePath();
+        final Path extractedJar = Path.of(required(options, "extracted-jar")).toAbsolutePath();
+        final String argsFile = options.getOrDefault("args-file", "startup.args");
+        final int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        final List<String> applicationArgs = options.containsKey("warehouses")
+                ? List.of("--input.file.warehouses=" + options.get("warehouses"))
+                : List.of();
+        if (!Files.exists(extractedJar.resolveSibling(argsFile))) {
+            throw new IllegalArgumentException("No " + argsFile + " next to " + extractedJar
+                    + ", run the training run first");
+        }
+
+        final String java = ProcessHandle.current().info().command()
+                .orElseThrow(() -> new IllegalStateException("Cannot tell which java launcher is running"));
+        final List<Mode> modes = List.of(
+                new Mode("plain", plainJar.getParent(), List.of(), plainJar.getFileName().toString()),
+                new Mode("extracted", extractedJar.getParent(), List.of(), extractedJar.getFileName().toString()),
+                new Mode("optimized", extractedJar.getParent(), List.of("@" + argsFile),
+                        extractedJar.getFileName().toString()));
+
+        System.out.printf("Measuring %d runs per mode with %s (Java %s)%n", runs, java, Runtime.version());
+        final List<Result> results = new StartupTimer(java, applicationArgs).measure(modes, runs);
+        System.out.print(report(results));
+    }
+
+    private static String required(final Map<String, String> options, final String name) {
+        final String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + name + "=...");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,262 @@
+package com.training.callum.whoms.tools;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.training.callum.whoms.domain.EmployeeDTO;
+import com.training.callum.whoms.domain.WarehouseDTO;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic warehouse and employee feeds of any size for scale testing.
+ *
+ * Records follow {@code WarehouseDTOPatterns} and {@code EmployeeDTOPatterns}, and the numeric and date
+ * ranges the validation service enforces. At {@code badRate} a record gets exactly one field broken, so
+ * the failure counts per field can be checked against what was injected. Warehouse names are unique.
+ * Output depends only on the seed, the bad rate and the record counts: the same arguments always
+ * produce byte-identical files. Files are streamed, so millions of records need no extra heap.
+ *
+ * Run through {@code ./gradlew generateData}, see the README for the options.
+ */
+public final class SyntheticDataGenerator {
+
+    private static final String[][] CITIES = {
+        {"Providence", "RI"}, {"Albany", "NY"}, {"New York", "NY"}, {"Boston", "MA"}, {"Worcester", "MA"},
+        {"Hartford", "CT"}, {"New Haven", "CT"}, {"Newark", "NJ"}, {"Scranton", "PA"}, {"Pittsburgh", "PA"},
+        {"Burlington", "VT"}, {"Concord", "NH"}, {"Portland", "ME"}, {"Dover", "DE"}, {"Sioux Falls", "SD"},
+        {"Port St. Lucie", "FL"}, {"Fort Worth", "TX"}, {"El Paso", "TX"}, {"Salt Lake City", "UT"}, {"Columbus", "OH"}
+    };
+    private static final String[] WAREHOUSE_KINDS = {
+        "Distribution Center", "Regional Warehouse", "Fulfillment Hub", "Logistics Park", "Depot", "Cross Dock"
+    };
+    private static final String[] STREETS = {"Industrial", "Commerce", "Harbor", "Freight", "Market", "Depot", "Mill"};
+    private static final String[] STREET_TYPES = {"Way", "Blvd", "Ave", "St.", "Road", "Pkwy", "Drive"};
+    private static final String[] FIRST_NAMES = {
+        "Phineas", "Geoffrey", "Brunhilda", "Timi", "Ada", "Mary Ann", "Jean-Luc", "Olu", "Zoe", "Callum", "Priya", "Tomasz"
+    };
+    private static final String[] LAST_NAMES = {
+        "Nezey", "Jindrich", "Van der Mark", "O'Carroll", "Lovelace", "Smith-Jones", "Okafor", "Nowak", "Garcia", "Chen"
+    };
+    private static final String[] DOMAINS = {"example.com", "example.org", "mail.example.net", "post.example.io"};
+    private static final DateTimeFormatter DATE_OF_BIRTH = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final LocalDate OLDEST_BIRTH_DATE = LocalDate.of(1950, 1, 1);
+    private static final int BIRTH_DATE_SPAN_DAYS = 20_000;
+    // fixed rather than relative to today so that output stays reproducible
+    private static final LocalDate FIRST_FUTURE_BIRTH_DATE = LocalDate.of(2100, 1, 1);
+
+    private final long seed;
+    private final double badRate;
+
+    /**
+     * @param seed seed of the record sequence
+     * @param badRate fraction of records, from 0 to 1, that get one invalid field
+     */
+    public SyntheticDataGenerator(final long seed, final double badRate) {
+        if (badRate < 0.0 || badRate > 1.0) {
+            throw new IllegalArgumentException("Bad rate must be between 0 and 1: " + badRate);
+        }
+        this.seed = seed;
+        this.badRate = badRate;
+    }
+
+    /**
+     * Sequence of warehouses; each call to {@link #warehouses()} starts the same sequence again.
+     */
+    public final class Warehouses {
+
+        private final SplittableRandom random = new SplittableRandom(seed);
+        private int index;
+
+        public WarehouseDTO next() {
+            final String[] city = CITIES[random.nextInt(CITIES.length)];
+            String name = city[0].replace(".", "") + " " + WAREHOUSE_KINDS[random.nextInt(WAREHOUSE_KINDS.length)]
+                    + " " + letters(index++);
+            String address = (1 + random.nextInt(9999)) + " " + STREETS[random.nextInt(STREETS.length)]
+                    + " " + STREET_TYPES[random.nextInt(STREET_TYPES.length)];
+            String cityName = city[0];
+            String state = city[1];
+            String postalCode = digits(random, 5) + (random.nextInt(4) == 0 ? "-" + digits(random, 4) : "");
+            String phone = phone(random);
+            int squareFootage = 1000 + random.nextInt(3_000_000 - 1000 + 1);
+            int loadingDocks = 1 + random.nextInt(100);
+
+            if (random.nextDouble() < badRate) {
+                switch (random.nextInt(8)) {
+                    case 0 -> name = name + " " + random.nextInt(10);
+                    case 1 -> address = address + " #" + random.nextInt(100);
+                    case 2 -> cityName = cityName + random.nextInt(10);
+                    case 3 -> state = state.toLowerCase();
+                    case 4 -> postalCode = digits(random, 4);
+                    case 5 -> phone = digits(random, 7);
+                    case 6 -> squareFootage = random.nextInt(1000);
+                    default -> loadingDocks = random.nextBoolean() ? 0 : 101 + random.nextInt(100);
+                }
+            }
+            return new WarehouseDTO(name, address, cityName, state, postalCode, phone, squareFootage, loadingDocks);
+        }
+    }
+
+    /**
+     * Sequence of employees; each call to {@link #employees()} starts the same sequence again.
+     */
+    public final class Employees {
+
+        private final SplittableRandom random = new SplittableRandom(~seed);
+        private int index;
+
+        public EmployeeDTO next() {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            final String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String itin = digits(random, 3) + "-" + digits(random, 2) + "-" + digits(random, 4);
+            String mobile = phone(random);
+            String email = (firstName.charAt(0) + lastName).replaceAll("[^a-zA-Z]", "").toLowerCase()
+                    + index++ + "@" + DOMAINS[random.nextInt(DOMAINS.length)];
+            LocalDate dateOfBirth = OLDEST_BIRTH_DATE.plusDays(random.nextInt(BIRTH_DATE_SPAN_DAYS));
+
+            if (random.nextDouble() < badRate) {
+                switch (random.nextInt(5)) {
+                    case 0 -> firstName = firstName + random.nextInt(10);
+                    case 1 -> itin = digits(random, 9);
+                    case 2 -> mobile = digits(random, 7);
+                    case 3 -> email = email.replace('@', '.');
+                    default -> dateOfBirth = FIRST_FUTURE_BIRTH_DATE.plusDays(random.nextInt(BIRTH_DATE_SPAN_DAYS));
+                }
+            }
+            return new EmployeeDTO(firstName, lastName, itin, mobile, email, dateOfBirth);
+        }
+    }
+
+    public Warehouses warehouses() {
+        return new Warehouses();
+    }
+
+    public Employees employees() {
+        return new Employees();
+    }
+
+    /**
+     * Writes warehouses as a JSON array with the snake_case keys of input/warehouses.json.
+     *
+     * @param file target file, replaced if it exists
+     * @param count number of warehouses
+     */
+    public void writeWarehouses(final Path file, final long count) throws IOException {
+        final Warehouses warehouses = warehouses();
+        try (final OutputStream out = Files.newOutputStream(file);
+                final JsonGenerator json = new JsonFactory().createGenerator(out)) {
+            json.useDefaultPrettyPrinter();
+            json.writeStartArray();
+            for (long i = 0; i < count; i++) {
+                final WarehouseDTO warehouse = warehouses.next();
+                json.writeStartObject();
+                json.writeStringField("name", warehouse.name());
+                json.writeStringField("address", warehouse.address());
+                json.writeStringField("city", warehouse.city());
+                json.writeStringField("state", warehouse.state());
+                json.writeStringField("postal_code", warehouse.postalCode());
+                json.writeStringField("warehouse_phone", warehouse.warehousePhone());
+                json.writeNumberField("square_footage", warehouse.squareFootage());
+                json.writeNumberField("loading_docks", warehouse.loadingDocks());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+    }
+
+    /**
+     * Writes employees as CSV with the header and MM/dd/yyyy dates of input/employees.csv.
+     *
+     * @param file target file, replaced if it exists
+     * @param count number of employees
+     */
+    public void writeEmployees(final Path file, final long count) throws IOException {
+        final Employees employees = employees();
+        try (final Writer out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            out.write("firstName,lastName,itin,mobileNumber,personalEmail,dateOfBirth\n");
+            for (long i = 0; i < count; i++) {
+                final EmployeeDTO employee = employees.next();
+                out.write(employee.firstName());
+                out.write(',');
+                out.write(employee.lastName());
+                out.write(',');
+                out.write(employee.itin());
+                out.write(',');
+                out.write(employee.mobileNumber());
+                out.write(',');
+                out.write(employee.personalEmail());
+                out.write(',');
+                out.write(DATE_OF_BIRTH.format(employee.dateOfBirth()));
+                out.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Options as {@code --name=value}: warehouses and employees (record counts, default 1000 each),
+     * seed (default 42), bad-rate (default 0) and output (directory, default build/generated-data).
+     */
+    public static void main(final String[] args) throws IOException {
+        final Map<String, String> options = new LinkedHashMap<>();
+        for (final String arg : args) {
+            final int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        final long warehouseCount = Long.parseLong(options.getOrDefault("warehouses", "1000"));
+        final long employeeCount = Long.parseLong(options.getOrDefault("employees", "1000"));
+        final long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        final double badRate = Double.parseDouble(options.getOrDefault("bad-rate", "0"));
+        final Path output = Path.of(options.getOrDefault("output", "build/generated-data"));
+
+        Files.createDirectories(output);
+        final SyntheticDataGenerator generator = new SyntheticDataGenerator(seed, badRate);
+        final long started = System.nanoTime();
+        generator.writeWarehouses(output.resolve("warehouses.json"), warehouseCount);
+        generator.writeEmployees(output.resolve("employees.csv"), employeeCount);
+        System.out.printf("Wrote %d warehouses and %d employees (seed %d, bad rate %.3f) to %s in %d ms%n",
+                warehouseCount, employeeCount, seed, badRate, output.toAbsolutePath(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static String digits(final SplittableRandom random, final int count) {
+        final char[] digits = new char[count];
+        for (int i = 0; i < count; i++) {
+            digits[i] = (char) ('0' + random.nextInt(10));
+        }
+        return new String(digits);
+    }
+
+    private static String phone(final SplittableRandom random) {
+        final String area = digits(random, 3);
+        final String exchange = digits(random, 3);
+        final String line = digits(random, 4);
+        return switch (random.nextInt(3)) {
+            case 0 -> "(" + area + ") " + exchange + "-" + line;
+            case 1 -> area + "-" + exchange + "-" + line;
+            default -> area + "." + exchange + "." + line;
+        };
+    }
+
+    // bijective base-26 keeps names purely alphabetic and unique: 0 -> A, 25 -> Z, 26 -> AA
+    private static String letters(final int index) {
+        final StringBuilder letters = new StringBuilder();
+        int remaining = index + 1;
+        while (remaining > 0) {
+            remaining--;
+            letters.append((char) ('A' + remaining % 26));
+            remaining /= 26;
+        }
+        return letters.reverse().toString();
+    }
+}